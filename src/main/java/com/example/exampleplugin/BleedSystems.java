@@ -1,22 +1,23 @@
 package com.example.exampleplugin;
 
 import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Component;
+import com.hypixel.hytale.component.ComponentType;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.component.ArchetypeChunk;
 import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Resource;
+import com.hypixel.hytale.component.ResourceType;
 import com.hypixel.hytale.component.query.Query;
 import com.hypixel.hytale.component.system.tick.EntityTickingSystem;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
-import com.hypixel.hytale.server.core.modules.entity.damage.DamageEventSystem;
 import com.hypixel.hytale.server.core.modules.entity.damage.Damage;
 import com.hypixel.hytale.server.core.modules.entity.damage.DamageSystems;
 import com.hypixel.hytale.server.core.modules.entity.damage.DamageCause;
 import com.hypixel.hytale.server.core.inventory.ItemStack;
-import com.hypixel.hytale.server.core.asset.type.item.config.Item;
 import com.hypixel.hytale.server.core.entity.EntityUtils;
 import com.hypixel.hytale.server.core.entity.Entity;
 import com.hypixel.hytale.server.core.entity.LivingEntity;
-import com.hypixel.hytale.server.core.modules.entity.AllLegacyLivingEntityTypesQuery;
 import com.hypixel.hytale.server.core.modules.entitystats.asset.DefaultEntityStatTypes;
 import com.hypixel.hytale.server.core.modules.entitystats.EntityStatMap;
 
@@ -24,10 +25,10 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.Map;
 
 /**
  * Bleed system with:
@@ -50,14 +51,9 @@ public final class BleedSystems {
     private static final float BURST_DAMAGE_FALLBACK = 10.0f;    // fallback burst damage
 
     // Scaling parameters (relative to the dagger's original damage)
-    private static final float BLEED_PERCENT_PER_STACK = 0.20f;  // 5% of the original dagger damage per stack per tick
-    private static final float BURST_MULTIPLIER = 1.50f;         // burst equals 50% of the original dagger damage
-
-    // Default lifesteal if dagger detected (same default as your lifesteal system)
-    private static final double DEFAULT_DAGGER_LIFESTEAL = 0.12;
-
-    // Map keyed by stable EntityKey to BleedData
-    private static final ConcurrentMap<EntityKey, BleedData> BLEED_MAP = new ConcurrentHashMap<>();
+    // (defaults for dagger weapon profiles, see WeaponProfiles)
+    static final float BLEED_PERCENT_PER_STACK = 0.20f;  // 5% of the original dagger damage per stack per tick
+    static final float BURST_MULTIPLIER = 1.50f;         // burst equals 50% of the original dagger damage
 
     // Marker Source used for bleed damage (prevents bleed damage from retriggering itself)
     private static final class BleedEntitySource extends Damage.EntitySource {
@@ -71,141 +67,98 @@ public final class BleedSystems {
     /**
      * Add a stack to a victim; pass the original damage amount that applied the stack (lastHitDamage).
      * If lastHitDamage <= 0 we simply record no damage and the fallback fixed values will be used.
+     * The victim gets a BleedComponent through the command buffer if it isn't bleeding yet; further hits in
+     * the same tick stack onto that pending component.
      */
-    public static void addStack(@Nonnull Ref<EntityStore> victimRef, @Nullable Ref<EntityStore> attackerRef, float lastHitDamage) {
+    public static void addStack(@Nonnull Ref<EntityStore> victimRef, @Nullable Ref<EntityStore> attackerRef, float lastHitDamage,
+                                @Nonnull WeaponProfiles.WeaponProfile weapon, @Nonnull CommandBuffer<EntityStore> commandBuffer) {
         if (victimRef == null || !victimRef.isValid()) return;
-        EntityKey key = new EntityKey(victimRef);
-        BleedData data = BLEED_MAP.computeIfAbsent(key, k -> new BleedData());
-        data.addStack(attackerRef, lastHitDamage);
-        try {
-            com.hypixel.hytale.server.npc.NPCPlugin.get().getLogger()
-                    .atInfo().log("Bleed: added stack to %s (stacks=%d lastHitDamage=%.2f)", key, data.getCount(), data.getLastHitDamage());
-        } catch (Throwable ignored) {}
+        ComponentType<EntityStore, BleedComponent> type = BleedComponent.getComponentType();
+        BleedComponent data = commandBuffer.getComponent(victimRef, type);
+        PendingBleedAdds pending = commandBuffer.getResource(PendingBleedAdds.getResourceType());
+        if (data == null) {
+            data = pending.byRef.get(victimRef);
+            if (data == null) {
+                data = new BleedComponent();
+                pending.byRef.put(victimRef, data);
+                commandBuffer.addComponent(victimRef, type, data);
+            }
+        } else if (!pending.byRef.isEmpty()) {
+            pending.byRef.remove(victimRef); // applied meanwhile; the store has it now
+        }
+        data.addStack(attackerRef, lastHitDamage, weapon);
+        if (DebugLog.on(DebugLog.Channel.BLEED)) {
+            try {
+                com.hypixel.hytale.server.npc.NPCPlugin.get().getLogger()
+                        .atInfo().log("Bleed: added stack to entity %d (stacks=%d lastHitDamage=%.2f)", victimRef.getIndex(), data.getCount(), data.getLastHitDamage());
+            } catch (Throwable ignored) {}
+        }
     }
 
-    public static void clearFor(@Nonnull Ref<EntityStore> victimRef) {
-        if (victimRef == null) return;
-        BLEED_MAP.remove(new EntityKey(victimRef));
+    public static void clearFor(@Nonnull Ref<EntityStore> victimRef, @Nonnull CommandBuffer<EntityStore> commandBuffer) {
+        if (victimRef == null || !victimRef.isValid()) return;
+        commandBuffer.tryRemoveComponent(victimRef, BleedComponent.getComponentType());
     }
 
-    // --- Damage event system: add stack on dagger hits (ignores bleed-sourced damage) ---
+    static boolean isBleedSource(@Nullable Damage.Source source) {
+        return source instanceof BleedEntitySource;
+    }
 
-    public static class BleedOnDamage extends DamageEventSystem {
-        public BleedOnDamage() { super(); }
+    // --- On-hit effect: add stack on dagger hits (ignores bleed-sourced damage) ---
 
-        @Nonnull
-        public Query<EntityStore> getQuery() {
-            return (Query<EntityStore>) AllLegacyLivingEntityTypesQuery.INSTANCE;
-        }
+    /**
+     * Adds a bleed stack when the hit was dealt with a bleeding weapon. Runs inside CombatDamageSystem.
+     */
+    public static class BleedEffect implements CombatDamageSystem.OnHitEffect {
 
         @Override
-        public void handle(int index, @Nonnull ArchetypeChunk<EntityStore> archetypeChunk,
-                           @Nonnull Store<EntityStore> store,
-                           @Nonnull CommandBuffer<EntityStore> commandBuffer,
-                           @Nonnull Damage damageEvent) {
-            try {
-                if (damageEvent == null || damageEvent.isCancelled()) return;
-
-                // Ignore damage that originated from bleed system itself
-                Damage.Source src = damageEvent.getSource();
-                if (src instanceof BleedEntitySource) return;
+        public void onHit(@Nonnull CombatDamageSystem.Hit hit, @Nonnull Store<EntityStore> store, @Nonnull CommandBuffer<EntityStore> commandBuffer) {
+            // Ignore damage that originated from bleed system itself
+            if (hit.bleedSourced) return;
+            if (!hit.weapon.appliesBleed()) return;
 
-                float amount = damageEvent.getAmount();
-                if (amount <= 0f) return;
-
-                if (!(src instanceof Damage.EntitySource)) return;
-
-                Ref<EntityStore> attackerRef = ((Damage.EntitySource) src).getRef();
-                if (attackerRef == null || !attackerRef.isValid()) return;
-
-                @Nullable Entity ent = EntityUtils.getEntity(attackerRef, store);
-                if (!(ent instanceof LivingEntity)) return;
-                LivingEntity attacker = (LivingEntity) ent;
-
-                ItemStack held = getHeldItemReflective(attacker);
-                if (held == null || ItemStack.isEmpty(held)) return;
-
-                // Dagger heuristic
-                boolean isDagger = false;
-                Item item = held.getItem();
-                if (item != null) {
-                    try {
-                        String[] cats = item.getCategories();
-                        if (cats != null) {
-                            for (String c : cats) if (c != null && c.equalsIgnoreCase("Dagger")) { isDagger = true; break; }
-                        }
-                    } catch (Throwable ignored) {}
-                    String id = held.getItemId();
-                    if (!isDagger && id != null && id.toLowerCase().contains("dagger")) isDagger = true;
-                }
-
-                if (!isDagger) return;
-
-                // Victim ref from archetype chunk
-                Ref<EntityStore> victimRef = archetypeChunk.getReferenceTo(index);
-                if (victimRef == null || !victimRef.isValid()) return;
-
-                // Pass amount so future bleed can scale off it
-                addStack(victimRef, attackerRef, amount);
-
-            } catch (Throwable t) {
-                try {
-                    com.hypixel.hytale.server.npc.NPCPlugin.get().getLogger()
-                            .at(java.util.logging.Level.WARNING).withCause(t).log("BleedOnDamage handler error");
-                } catch (Throwable ignored) {}
-            }
-        }
-
-        // Reflection helper to obtain held item
-        @Nullable
-        private ItemStack getHeldItemReflective(@Nonnull LivingEntity attacker) {
-            try {
-                Object inventory = tryInvoke(attacker, "getInventory");
-                if (inventory == null) return null;
-                String[] tries = { "getActiveHotbarItem", "getActiveHotbarItemStack", "getItemInHand", "getActiveItem", "getActiveSlotItem", "getItem" };
-                for (String name : tries) {
-                    try {
-                        Method m = inventory.getClass().getMethod(name);
-                        Object out = m.invoke(inventory);
-                        if (out instanceof ItemStack) return (ItemStack) out;
-                    } catch (NoSuchMethodException ignore) {}
-                }
-                for (String name : tries) {
-                    try {
-                        Method m = attacker.getClass().getMethod(name);
-                        Object out = m.invoke(attacker);
-                        if (out instanceof ItemStack) return (ItemStack) out;
-                    } catch (NoSuchMethodException ignore) {}
-                }
-            } catch (Throwable ignored) {}
-            return null;
-        }
-
-        private Object tryInvoke(Object obj, String methodName) {
-            try {
-                Method m = obj.getClass().getMethod(methodName);
-                return m.invoke(obj);
-            } catch (Throwable ignored) { return null; }
+            // Pass amount so future bleed can scale off it
+            addStack(hit.victimRef, hit.attackerRef, hit.amount, hit.weapon, commandBuffer);
         }
     }
 
-    // --- Ticking system: apply periodic damage and burst ---
+    // --- Ticking system: apply periodic damage and burst (only matches entities carrying a BleedComponent) ---
 
     public static class BleedTicking extends EntityTickingSystem<EntityStore> {
+        private static final PerfMetrics.Section PERF = PerfMetrics.section("BleedTicking");
+
         public BleedTicking() {}
 
         @Nonnull
         public Query<EntityStore> getQuery() {
-            return (Query<EntityStore>) AllLegacyLivingEntityTypesQuery.INSTANCE;
+            return BleedComponent.getComponentType();
+        }
+
+        @Override
+        public void tick(float dt, int systemIndex, @Nonnull Store<EntityStore> store) {
+            // every add queued before this point has been applied; the components are found directly now
+            store.getResource(PendingBleedAdds.getResourceType()).byRef.clear();
+            long t0 = PERF.begin();
+            try {
+                super.tick(dt, systemIndex, store);
+            } finally {
+                PERF.end(t0);
+            }
+        }
+
+        @Override
+        public void tick(float dt, @Nonnull ArchetypeChunk<EntityStore> chunk, @Nonnull Store<EntityStore> store, @Nonnull CommandBuffer<EntityStore> commandBuffer) {
+            PERF.visit(chunk.size());
+            super.tick(dt, chunk, store, commandBuffer);
         }
 
         @Override
         public void tick(float dt, int index, @Nonnull ArchetypeChunk<EntityStore> archetypeChunk, @Nonnull Store<EntityStore> store, @Nonnull CommandBuffer<EntityStore> commandBuffer) {
             Ref<EntityStore> ref = archetypeChunk.getReferenceTo(index);
             if (ref == null || !ref.isValid()) return;
-            EntityKey key = new EntityKey(ref);
+            int key = ref.getIndex();
 
-            BleedData data = BLEED_MAP.get(key);
+            BleedComponent data = archetypeChunk.getComponent(index, BleedComponent.getComponentType());
             if (data == null) return;
 
             BleedResult result;
@@ -214,25 +167,21 @@ public final class BleedSystems {
             } catch (Throwable t) {
                 try {
                     com.hypixel.hytale.server.npc.NPCPlugin.get().getLogger()
-                            .at(java.util.logging.Level.WARNING).withCause(t).log("Bleed tick error for %s", key);
+                            .at(java.util.logging.Level.WARNING).withCause(t).log("Bleed tick error for entity %d", key);
                 } catch (Throwable ignored) {}
                 return;
             }
 
             if (result == null) {
-                if (data.isEmpty()) BLEED_MAP.remove(key);
+                if (data.isEmpty()) commandBuffer.tryRemoveComponent(ref, BleedComponent.getComponentType());
                 return;
             }
 
             try {
                 // --- BURST ---
                 if (result.burstDamage > 0f) {
-                    int appliedBurst;
-                    if (result.lastHitDamage > 0f) {
-                        appliedBurst = Math.max(1, Math.round(result.lastHitDamage * BURST_MULTIPLIER));
-                    } else {
-                        appliedBurst = Math.max(1, Math.round(BURST_DAMAGE_FALLBACK));
-                    }
+                    // burstDamage is already scaled off the applying hit (or the fallback)
+                    int appliedBurst = Math.max(1, Math.round(result.burstDamage));
 
                     Ref<EntityStore> atkRef = result.lastAttackerRef;
                     if (atkRef != null && atkRef.isValid()) {
@@ -255,10 +204,12 @@ public final class BleedSystems {
                         attachDefaultCameraEffect(burst);
                         DamageSystems.executeDamage(ref, commandBuffer, burst);
                     }
-                    try {
-                        com.hypixel.hytale.server.npc.NPCPlugin.get().getLogger()
-                                .atInfo().log("Bleed: burst %s -> appliedDamage=%d", key, appliedBurst);
-                    } catch (Throwable ignored) {}
+                    if (DebugLog.on(DebugLog.Channel.BLEED)) {
+                        try {
+                            com.hypixel.hytale.server.npc.NPCPlugin.get().getLogger()
+                                    .atInfo().log("Bleed: burst entity %d -> appliedDamage=%d", key, appliedBurst);
+                        } catch (Throwable ignored) {}
+                    }
                 }
 
                 // --- PERIODIC ---
@@ -285,19 +236,21 @@ public final class BleedSystems {
                         attachDefaultCameraEffect(periodic);
                         DamageSystems.executeDamage(ref, commandBuffer, periodic);
                     }
-                    try {
-                        com.hypixel.hytale.server.npc.NPCPlugin.get().getLogger()
-                                .atInfo().log("Bleed: periodic %s -> appliedDamage=%d (stacks=%d)", key, appliedPeriodic, data.getCount());
-                    } catch (Throwable ignored) {}
+                    if (DebugLog.on(DebugLog.Channel.BLEED)) {
+                        try {
+                            com.hypixel.hytale.server.npc.NPCPlugin.get().getLogger()
+                                    .atInfo().log("Bleed: periodic entity %d -> appliedDamage=%d (stacks=%d)", key, appliedPeriodic, data.getCount());
+                        } catch (Throwable ignored) {}
+                    }
                 }
             } catch (Throwable t) {
                 try {
                     com.hypixel.hytale.server.npc.NPCPlugin.get().getLogger()
-                            .at(java.util.logging.Level.WARNING).withCause(t).log("Bleed damage application error for %s", key);
+                            .at(java.util.logging.Level.WARNING).withCause(t).log("Bleed damage application error for entity %d", key);
                 } catch (Throwable ignored) {}
             }
 
-            if (data.isEmpty()) BLEED_MAP.remove(key);
+            if (data.isEmpty()) commandBuffer.tryRemoveComponent(ref, BleedComponent.getComponentType());
         }
     }
 
@@ -350,8 +303,8 @@ public final class BleedSystems {
             if (!(maybeEnt instanceof LivingEntity)) return;
             LivingEntity attackerEntity = (LivingEntity) maybeEnt;
 
-            ItemStack held = tryGetHeldItemFromEntity(attackerEntity, commandBuffer);
-            double lifestealPercent = getLifestealFromItem(held);
+            ItemStack held = HeldItemResolver.getHeldItem(attackerEntity);
+            double lifestealPercent = WeaponProfiles.get(held).lifesteal;
             if (lifestealPercent <= 0.0) return;
 
             float heal = (float)(appliedDamage * lifestealPercent);
@@ -364,105 +317,78 @@ public final class BleedSystems {
         } catch (Throwable ignored) {}
     }
 
-    // Try to obtain held item from a LivingEntity using reflection; commandBuffer is unused here but kept for parity if needed.
-    @Nullable
-    private static ItemStack tryGetHeldItemFromEntity(@Nonnull LivingEntity attacker, @Nonnull CommandBuffer<EntityStore> commandBuffer) {
-        try {
-            Object inventory = null;
-            try {
-                Method mInv = attacker.getClass().getMethod("getInventory");
-                inventory = mInv.invoke(attacker);
-            } catch (NoSuchMethodException ignore) {}
-            if (inventory != null) {
-                String[] tries = { "getActiveHotbarItem", "getActiveHotbarItemStack", "getItemInHand", "getActiveItem", "getActiveSlotItem", "getItem" };
-                for (String nm : tries) {
-                    try {
-                        Method m = inventory.getClass().getMethod(nm);
-                        Object out = m.invoke(inventory);
-                        if (out instanceof ItemStack) return (ItemStack) out;
-                    } catch (NoSuchMethodException ignore) {}
-                }
-            }
-            // fallback to direct on entity
-            String[] tries2 = { "getActiveHotbarItem", "getActiveHotbarItemStack", "getItemInHand", "getActiveItem", "getActiveSlotItem", "getItem" };
-            for (String nm : tries2) {
-                try {
-                    Method m = attacker.getClass().getMethod(nm);
-                    Object out = m.invoke(attacker);
-                    if (out instanceof ItemStack) return (ItemStack) out;
-                } catch (NoSuchMethodException ignore) {}
-            }
-        } catch (Throwable ignored) {}
-        return null;
-    }
-
-    // Determine lifesteal percent from item; uses dagger heuristic and default percentage
-    private static double getLifestealFromItem(@Nullable ItemStack itemStack) {
-        if (itemStack == null) return 0.0;
-        try {
-            String id = itemStack.getItemId();
-            Item it = itemStack.getItem();
-            if (it != null) {
-                try {
-                    String[] cats = it.getCategories();
-                    if (cats != null) {
-                        for (String c : cats) {
-                            if (c != null && c.equalsIgnoreCase("Dagger")) return DEFAULT_DAGGER_LIFESTEAL;
-                        }
-                    }
-                } catch (Throwable ignored) {}
-            }
-            if (id != null && id.toLowerCase().contains("dagger")) return DEFAULT_DAGGER_LIFESTEAL;
-        } catch (Throwable ignored) {}
-        return 0.0;
-    }
+    // --- Per-store pending adds ---
 
-    // --- Per-entity key & data ---
+    /**
+     * BleedComponents queued with addComponent but not applied yet. commandBuffer.getComponent does not see
+     * them, so a second proc on a fresh victim in the same tick must find the pending one here instead of
+     * queueing a duplicate add. Cleared by BleedTicking, which runs after the buffers are applied. Lives in the
+     * world's store, so it goes away with the world. Only touched from that world's thread.
+     */
+    public static final class PendingBleedAdds implements Resource<EntityStore> {
+        public static ResourceType<EntityStore, PendingBleedAdds> getResourceType() {
+            return LifestealPlugin.get().getPendingBleedAddsType();
+        }
 
-    private static final class EntityKey {
-        private final Store<EntityStore> store;
-        private final int index;
+        final Map<Ref<EntityStore>, BleedComponent> byRef = new HashMap<>();
 
-        EntityKey(Ref<EntityStore> ref) {
-            this.store = ref.getStore();
-            this.index = ref.getIndex();
-        }
+        public PendingBleedAdds() {}
 
+        @Nonnull
         @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (!(o instanceof EntityKey)) return false;
-            EntityKey other = (EntityKey) o;
-            return this.index == other.index && this.store == other.store;
+        public Resource<EntityStore> clone() {
+            // pending adds belong to the tick that queued them; a copy starts empty
+            return new PendingBleedAdds();
         }
+    }
 
-        @Override
-        public int hashCode() {
-            return System.identityHashCode(store) * 31 + index;
-        }
+    // --- Per-entity bleed state ---
 
-        @Override
-        public String toString() {
-            return "EntityKey(store=" + System.identityHashCode(store) + ",index=" + index + ")";
+    /**
+     * Bleed stacks on one entity. Present only while the entity is bleeding: added by BleedEffect (inside
+     * CombatDamageSystem) and removed by BleedTicking once all stacks have expired or burst.
+     */
+    public static final class BleedComponent implements Component<EntityStore> {
+        public static ComponentType<EntityStore, BleedComponent> getComponentType() {
+            return LifestealPlugin.get().getBleedComponentType();
         }
-    }
 
-    private static final class BleedData {
         private final List<Long> stacks = new ArrayList<>();
         private float tickAccumulator = 0f;
         private Ref<EntityStore> lastAttackerRef = null;
         private float lastHitDamage = 0f; // store original dagger damage (if available)
+        private float bleedPercentPerStack = BLEED_PERCENT_PER_STACK; // from the newest applying weapon
+        private float burstMultiplier = BURST_MULTIPLIER;
+
+        public BleedComponent() {}
 
-        synchronized void addStack(@Nullable Ref<EntityStore> attackerRef, float lastHitDamage) {
+        @Nonnull
+        @Override
+        public Component<EntityStore> clone() {
+            BleedComponent copy = new BleedComponent();
+            copy.stacks.addAll(stacks);
+            copy.tickAccumulator = tickAccumulator;
+            copy.lastAttackerRef = lastAttackerRef;
+            copy.lastHitDamage = lastHitDamage;
+            copy.bleedPercentPerStack = bleedPercentPerStack;
+            copy.burstMultiplier = burstMultiplier;
+            return copy;
+        }
+
+        void addStack(@Nullable Ref<EntityStore> attackerRef, float lastHitDamage, @Nonnull WeaponProfiles.WeaponProfile weapon) {
             long now = System.currentTimeMillis();
             removeExpiredInternal(now);
             stacks.add(now);
             if (attackerRef != null && attackerRef.isValid()) lastAttackerRef = attackerRef;
             if (lastHitDamage > 0f) this.lastHitDamage = lastHitDamage; // update lastHitDamage to newest hit's damage
+            if (weapon.appliesBleed()) {
+                this.bleedPercentPerStack = weapon.bleedPercentPerStack;
+                this.burstMultiplier = weapon.burstMultiplier;
+            }
             while (stacks.size() > MAX_STACKS) stacks.remove(0);
         }
 
-        synchronized BleedResult tick(float dtSeconds) {
+        BleedResult tick(float dtSeconds) {
             long now = System.currentTimeMillis();
             removeExpiredInternal(now);
             if (stacks.isEmpty()) return null;
@@ -475,7 +401,7 @@ public final class BleedSystems {
             if (stacks.size() >= MAX_STACKS) {
                 // burst scaled off lastHitDamage if available
                 if (lastHitDamage > 0f) {
-                    burst = lastHitDamage * BURST_MULTIPLIER;
+                    burst = lastHitDamage * burstMultiplier;
                 } else {
                     burst = BURST_DAMAGE_FALLBACK;
                 }
@@ -490,7 +416,7 @@ public final class BleedSystems {
                 if (intervals > 0) {
                     int s = stacks.size();
                     if (lastHitDamage > 0f) {
-                        periodicDamage = s * lastHitDamage * BLEED_PERCENT_PER_STACK * intervals;
+                        periodicDamage = s * lastHitDamage * bleedPercentPerStack * intervals;
                     } else {
                         periodicDamage = s * PER_STACK_DAMAGE_PER_TICK * intervals;
                     }
@@ -502,17 +428,17 @@ public final class BleedSystems {
             return new BleedResult(periodicDamage, 0f, attacker, lastHitDamage);
         }
 
-        synchronized boolean isEmpty() {
+        boolean isEmpty() {
             removeExpiredInternal(System.currentTimeMillis());
             return stacks.isEmpty();
         }
 
-        synchronized int getCount() {
+        int getCount() {
             removeExpiredInternal(System.currentTimeMillis());
             return stacks.size();
         }
 
-        synchronized float getLastHitDamage() { return lastHitDamage; }
+        float getLastHitDamage() { return lastHitDamage; }
 
         private void removeExpiredInternal(long nowMillis) {
             long threshold = nowMillis - STACK_DURATION_MS;
@@ -0,0 +1,135 @@
+package com.example.exampleplugin;
+
+import com.hypixel.hytale.component.ArchetypeChunk;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.server.core.entity.Entity;
+import com.hypixel.hytale.server.core.entity.EntityUtils;
+import com.hypixel.hytale.server.core.entity.LivingEntity;
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+import com.hypixel.hytale.server.core.modules.entity.AllLegacyLivingEntityTypesQuery;
+import com.hypixel.hytale.server.core.modules.entity.damage.Damage;
+import com.hypixel.hytale.server.core.modules.entity.damage.DamageEventSystem;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Single combat pipeline for on-hit effects.
+ *
+ * For every entity-sourced Damage event the attacker, its held item and the item's weapon profile are
+ * resolved once, then handed to each registered OnHitEffect (lifesteal, bleed, ...). Effects only decide
+ * what to do with the hit; they never look up the attacker themselves.
+ */
+public final class CombatDamageSystem extends DamageEventSystem {
+
+    /**
+     * One on-hit effect. Called on the world thread for every hit that passed the shared checks.
+     */
+    public interface OnHitEffect {
+        void onHit(@Nonnull Hit hit, @Nonnull Store<EntityStore> store, @Nonnull CommandBuffer<EntityStore> commandBuffer);
+    }
+
+    /**
+     * Everything resolved about a hit. Only valid for the duration of the onHit call.
+     */
+    public static final class Hit {
+        public Ref<EntityStore> victimRef;
+        public Ref<EntityStore> attackerRef;
+        public LivingEntity attacker;
+        @Nullable public ItemStack held;
+        public WeaponProfiles.WeaponProfile weapon;
+        public float amount;
+        public boolean bleedSourced; // damage was dealt by BleedSystems itself
+
+        void clear() {
+            victimRef = null;
+            attackerRef = null;
+            attacker = null;
+            held = null;
+            weapon = null;
+        }
+    }
+
+    // damage events are handled on the owning world's thread; one scratch hit per thread
+    private static final ThreadLocal<Hit> HIT = ThreadLocal.withInitial(Hit::new);
+
+    private static final PerfMetrics.Section PERF = PerfMetrics.section("CombatDamageSystem");
+
+    private final OnHitEffect[] effects;
+
+    public CombatDamageSystem(@Nonnull OnHitEffect... effects) {
+        super();
+        this.effects = effects.clone();
+    }
+
+    @Nonnull
+    public Query<EntityStore> getQuery() {
+        return (Query<EntityStore>) AllLegacyLivingEntityTypesQuery.INSTANCE;
+    }
+
+    @Override
+    public void handle(int index, @Nonnull ArchetypeChunk<EntityStore> archetypeChunk,
+                       @Nonnull Store<EntityStore> store,
+                       @Nonnull CommandBuffer<EntityStore> commandBuffer,
+                       @Nonnull Damage damageEvent) {
+        if (effects.length == 0) return;
+        long t0 = PERF.begin();
+        PERF.visit(1);
+        Hit hit = null;
+        try {
+            if (damageEvent == null || damageEvent.isCancelled()) return;
+
+            float amount = damageEvent.getAmount();
+            if (amount <= 0f) return;
+
+            Damage.Source src = damageEvent.getSource();
+            if (!(src instanceof Damage.EntitySource)) return;
+
+            Ref<EntityStore> attackerRef = ((Damage.EntitySource) src).getRef();
+            if (attackerRef == null || !attackerRef.isValid()) return;
+
+            @Nullable Entity ent = EntityUtils.getEntity(attackerRef, store);
+            if (!(ent instanceof LivingEntity)) return;
+            LivingEntity attacker = (LivingEntity) ent;
+
+            ItemStack held = HeldItemResolver.getHeldItem(attacker);
+            WeaponProfiles.WeaponProfile weapon = WeaponProfiles.get(held);
+            if (weapon == WeaponProfiles.NONE) return; // no on-hit effects for this item
+
+            Ref<EntityStore> victimRef = archetypeChunk.getReferenceTo(index);
+            if (victimRef == null || !victimRef.isValid()) return;
+
+            hit = HIT.get();
+            hit.victimRef = victimRef;
+            hit.attackerRef = attackerRef;
+            hit.attacker = attacker;
+            hit.held = held;
+            hit.weapon = weapon;
+            hit.amount = amount;
+            hit.bleedSourced = BleedSystems.isBleedSource(src);
+
+            for (OnHitEffect effect : effects) {
+                try {
+                    effect.onHit(hit, store, commandBuffer);
+                } catch (Throwable t) {
+                    try {
+                        com.hypixel.hytale.server.npc.NPCPlugin.get().getLogger()
+                                .at(java.util.logging.Level.WARNING).withCause(t).log("Combat on-hit effect %s failed", effect.getClass().getSimpleName());
+                    } catch (Throwable ignored) {}
+                }
+            }
+        } catch (Throwable t) {
+            try {
+                com.hypixel.hytale.server.npc.NPCPlugin.get().getLogger()
+                        .at(java.util.logging.Level.WARNING).withCause(t).log("CombatDamageSystem handler error");
+            } catch (Throwable ignored) {}
+        } finally {
+            if (hit != null) hit.clear();
+            PERF.end(t0);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.exampleplugin;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import com.hypixel.hytale.logger.HytaleLogger;
+import com.hypixel.hytale.server.core.plugin.JavaPlugin;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.lang.reflect.Type;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Per-subsystem debug logging switches for the hot paths (combat, death, loot, spawn).
+ *
+ * Call sites guard the whole log statement:
+ *   if (DebugLog.on(DebugLog.Channel.CLEANER)) LOG.atInfo().log("...", a, b);
+ * so with a channel off nothing is boxed, formatted or allocated; the check is one volatile read.
+ *
+ * Channels start from debug.json in the plugin data folder (all off by default) and can be flipped at
+ * runtime through DebugManager (/debuglog). The same file's "perfMetrics" key switches PerfMetrics
+ * (/pluginperf) on at startup.
+ */
+public final class DebugLog {
+    private static final HytaleLogger LOG = HytaleLogger.forEnclosingClass();
+    private static final String DEFAULT_FILENAME = "debug.json";
+    private static final String PERF_METRICS_KEY = "perfMetrics";
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final Type MAP_TYPE = new TypeToken<Map<String, Boolean>>(){}.getType();
+
+    public enum Channel {
+        DEATH,   // DeathPipelineSystem
+        LOOT,    // LootDeliverySystem
+        CLEANER, // ItemSpawnCleaner
+        SPAWN,   // spawn strategies (also enabled per spawn by its "debug" flag)
+        BLEED,   // BleedSystems
+        RANK;    // RankCache updates
+
+        final int bit = 1 << ordinal();
+
+        public String key() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        @Nullable
+        public static Channel byKey(@Nullable String key) {
+            if (key == null) return null;
+            for (Channel c : values()) {
+                if (c.key().equalsIgnoreCase(key)) return c;
+            }
+            return null;
+        }
+    }
+
+    private static volatile int enabled;
+
+    private DebugLog() {}
+
+    public static boolean on(Channel channel) {
+        return (enabled & channel.bit) != 0;
+    }
+
+    public static synchronized void set(Channel channel, boolean on) {
+        enabled = on ? (enabled | channel.bit) : (enabled & ~channel.bit);
+    }
+
+    public static synchronized void setAll(boolean on) {
+        int mask = 0;
+        if (on) {
+            for (Channel c : Channel.values()) mask |= c.bit;
+        }
+        enabled = mask;
+    }
+
+    /**
+     * Load channel switches from debug.json in the plugin data folder; writes an all-off file if missing.
+     */
+    public static void load(JavaPlugin plugin) {
+        try {
+            File dataFolder = plugin.getDataDirectory().toFile();
+            if (!dataFolder.exists() && !dataFolder.mkdirs()) {
+                LOG.atWarning().log("Could not create plugin data folder: %s", dataFolder.getAbsolutePath());
+            }
+
+            File file = new File(dataFolder, DEFAULT_FILENAME);
+            if (!file.exists()) {
+                Map<String, Boolean> sample = new LinkedHashMap<>();
+                for (Channel c : Channel.values()) sample.put(c.key(), Boolean.FALSE);
+                sample.put(PERF_METRICS_KEY, Boolean.FALSE);
+                try (FileWriter w = new FileWriter(file)) {
+                    GSON.toJson(sample, MAP_TYPE, w);
+                } catch (Throwable t) {
+                    LOG.atWarning().withCause(t).log("Failed to write sample debug.json");
+                }
+                setAll(false);
+                return;
+            }
+
+            Map<String, Boolean> values;
+            try (FileReader r = new FileReader(file)) {
+                values = GSON.fromJson(r, MAP_TYPE);
+            }
+            setAll(false);
+            if (values == null) return;
+            for (Map.Entry<String, Boolean> e : values.entrySet()) {
+                if (PERF_METRICS_KEY.equals(e.getKey())) {
+                    PerfMetrics.setEnabled(Boolean.TRUE.equals(e.getValue()));
+                    continue;
+                }
+                Channel c = Channel.byKey(e.getKey());
+                if (c == null) {
+                    LOG.atWarning().log("Unknown debug channel '%s' in debug.json", e.getKey());
+                    continue;
+                }
+                set(c, Boolean.TRUE.equals(e.getValue()));
+            }
+        } catch (Throwable t) {
+            LOG.atWarning().withCause(t).log("Error reading debug.json, debug logging stays off");
+        }
+    }
+}
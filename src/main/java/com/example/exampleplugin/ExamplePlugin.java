@@ -2,24 +2,31 @@ package com.example.exampleplugin;
 
 import com.example.exampleplugin.custominstance.*;
 import com.example.exampleplugin.darkvalehud.command.DebugCommand;
+import com.example.exampleplugin.darkvalehud.command.DebugLogCommand;
 import com.example.exampleplugin.darkvalehud.data.DebugManager;
 import com.example.exampleplugin.darkvalehud.data.ScoreboardManager;
-import com.example.exampleplugin.darkvalehud.hud.DarkvaleHudSystem;
+import com.example.exampleplugin.darkvalehud.hud.DebugInfoHudRenderer;
+import com.example.exampleplugin.darkvalehud.hud.PlayerHudPipeline;
 import com.example.exampleplugin.spawner.*;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.logger.HytaleLogger;
+import com.hypixel.hytale.server.core.entity.UUIDComponent;
 import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.event.events.player.PlayerDisconnectEvent;
 import com.hypixel.hytale.server.core.event.events.player.PlayerReadyEvent;
 import com.hypixel.hytale.server.core.plugin.JavaPlugin;
 import com.hypixel.hytale.server.core.plugin.JavaPluginInit;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.events.AllWorldsLoadedEvent;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.File;
 import java.util.List;
+import java.util.UUID;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 
@@ -30,13 +37,16 @@ public class ExamplePlugin extends JavaPlugin {
     private static final HytaleLogger LOGGER = HytaleLogger.forEnclosingClass();
 
     private DebugManager debugManager;
+    private PlaytimeService playtimeService;
+    private RankCache rankCache;
+    private PlayerSessionRegistry sessionRegistry;
+    private PlayerHudPipeline hudPipeline;
     private DungeonManager dungeonManager;
     private ScoreboardManager scoreboardManager;
-    private DeathImmediateLootSystem deathImmediateLootSystem;
+    private DeathPipelineSystem deathPipelineSystem;
     private ItemSpawnCleaner itemSpawnCleaner;
-    private DeathGiveSystem deathGiveSystem;
+    private LootBatcher lootBatcher;
     private ProximitySpawnSystem spawnManager;
-    private DeathWatcherSystem deathWatcherSystem;
 
     // ensure we only load spawns once
     private final AtomicBoolean spawnsLoaded = new AtomicBoolean(false);
@@ -49,10 +59,24 @@ public class ExamplePlugin extends JavaPlugin {
     @Override
     protected void setup() {
         this.debugManager = new DebugManager();
+        // hot-path debug logging channels (debug.json, all off unless configured)
+        DebugLog.load(this);
         this.scoreboardManager = new ScoreboardManager();
         this.dungeonManager = new DungeonManager();
 
-        this.getEntityStoreRegistry().registerSystem(new DarkvaleHudSystem(this.debugManager));
+        this.playtimeService = new PlaytimeService(new PlaytimeStore());
+        try {
+            this.playtimeService.start();
+        } catch (Throwable t) {
+            LOGGER.atWarning().withCause(t).log("Failed to load playtime store");
+        }
+
+        this.rankCache = new RankCache();
+
+        // One per-player HUD pipeline; add new ScoreboardHudRenderer() here to also show the scoreboard HUD
+        this.hudPipeline = new PlayerHudPipeline(this.playtimeService, this.rankCache,
+                new DebugInfoHudRenderer(this.debugManager));
+        this.getEntityStoreRegistry().registerSystem(this.hudPipeline);
         // Commands (existing)
         this.getCommandRegistry().registerCommand(new CustomInstancesNewCommand());
         this.getCommandRegistry().registerCommand(new CustomInstancesCopyCommand());
@@ -60,6 +84,8 @@ public class ExamplePlugin extends JavaPlugin {
         this.getCommandRegistry().registerCommand(new ListInstancesCommand());
         this.getCommandRegistry().registerCommand(new JoinInstanceCommand());
         this.getCommandRegistry().registerCommand(new DebugCommand(this, this.debugManager));
+        this.getCommandRegistry().registerCommand(new DebugLogCommand(this.debugManager));
+        this.getCommandRegistry().registerCommand(new PluginPerfCommand());
         this.getCommandRegistry().registerCommand(new SpawnerCreateCommand(this));
         this.getCommandRegistry().registerCommand(new SpawnersCommand(this));
         this.getCommandRegistry().registerCommand(new DeleteSpawnerCommand(this));
@@ -68,6 +94,11 @@ public class ExamplePlugin extends JavaPlugin {
         // Create and register the single spawn manager system
         this.spawnManager = new ProximitySpawnSystem();
         this.getEntityStoreRegistry().registerSystem(this.spawnManager);
+
+        // Player lifecycle: every per-player map is evicted from here when the player leaves
+        this.sessionRegistry = new PlayerSessionRegistry();
+        registerSessionListeners(this.sessionRegistry);
+        this.getEntityStoreRegistry().registerSystem(this.sessionRegistry);
         this.getLogger().at(Level.INFO).log("Simple Debug Info HUD Plugin loaded successfully!");
     }
 
@@ -75,17 +106,21 @@ public class ExamplePlugin extends JavaPlugin {
     protected void start() {
         super.start();
 
-        this.itemSpawnCleaner = new ItemSpawnCleaner();
-        this.deathGiveSystem = new DeathGiveSystem(this.itemSpawnCleaner);
-        this.deathImmediateLootSystem = new DeathImmediateLootSystem(this.itemSpawnCleaner);
-        this.getEntityStoreRegistry().registerSystem(this.deathGiveSystem);
+        // LuckPerms is an optional dependency, so its API is up by now (the listener is registered if present)
+        this.rankCache.start();
+
+        // loot for the same killer is merged within a tick and delivered once per player per tick
+        this.lootBatcher = new LootBatcher();
+        this.itemSpawnCleaner = new ItemSpawnCleaner(this.lootBatcher);
+        // one death pipeline (runs when a DeathComponent is added, nothing per tick): records each player kill
+        // for the cleaner and hands the loot to the killer; the cleaner then claims any drops still spawned
+        this.deathPipelineSystem = new DeathPipelineSystem(this.itemSpawnCleaner, this.lootBatcher);
+        this.getEntityStoreRegistry().registerSystem(this.deathPipelineSystem);
         this.getEntityStoreRegistry().registerSystem(this.itemSpawnCleaner);
-        this.getEntityStoreRegistry().registerSystem(this.deathImmediateLootSystem);
-        this.deathWatcherSystem = new DeathWatcherSystem(this.itemSpawnCleaner);
-        this.getEntityStoreRegistry().registerSystem(this.deathWatcherSystem);
-        // Auto-pickup fallback for spawned item entities (uses death markers)
+        this.getEntityStoreRegistry().registerSystem(new LootDeliverySystem(this.lootBatcher));
 
         getEventRegistry().registerGlobal(PlayerReadyEvent.class, this::onPlayerReady);
+        getEventRegistry().registerGlobal(PlayerDisconnectEvent.class, this.sessionRegistry::onPlayerDisconnect);
 
         // Load spawn definitions once worlds are fully loaded, then register spawn entries
         getEventRegistry().registerGlobal(AllWorldsLoadedEvent.class, event -> {
@@ -101,6 +136,19 @@ public class ExamplePlugin extends JavaPlugin {
         });
     }
 
+    @Override
+    protected void shutdown() {
+        // credit open sessions and flush pending playtime writes before the server exits
+        if (this.playtimeService != null) {
+            try {
+                this.playtimeService.shutdown();
+            } catch (Throwable t) {
+                LOGGER.atWarning().withCause(t).log("Failed to flush playtime store on shutdown");
+            }
+        }
+        super.shutdown();
+    }
+
     /**
      * Register a single spawn definition immediately into the running spawn manager.
      * Returns true if the spawn was registered (or false if spawnManager missing or duplicate).
@@ -127,6 +175,37 @@ public class ExamplePlugin extends JavaPlugin {
         return this.spawnManager.addSpawn(def, strategy);
     }
 
+    private void registerSessionListeners(PlayerSessionRegistry registry) {
+        registry.addListener(new PlayerSessionRegistry.Listener() {
+            @Override
+            public void onSessionStarted(@Nonnull PlayerRef playerRef, @Nullable UUID uuid) {
+                playtimeService.beginSession(uuid);
+            }
+
+            @Override
+            public void onPlayerDisconnected(@Nonnull PlayerRef playerRef, @Nullable UUID uuid) {
+                playtimeService.endSession(uuid);
+            }
+        });
+        registry.addListener(new PlayerSessionRegistry.Listener() {
+            @Override
+            public void onPlayerEntityRemoved(@Nonnull PlayerRef playerRef, @Nonnull Ref<EntityStore> ref) {
+                hudPipeline.onPlayerEntityRemoved(playerRef, ref);
+            }
+
+            @Override
+            public void onPlayerDisconnected(@Nonnull PlayerRef playerRef, @Nullable UUID uuid) {
+                hudPipeline.evict(playerRef);
+            }
+        });
+        registry.addListener((playerRef, uuid) -> {
+            debugManager.evict(playerRef);
+            scoreboardManager.evict(playerRef);
+            spawnManager.evictPlayer(playerRef);
+            rankCache.invalidate(uuid);
+        });
+    }
+
     private void onPlayerReady(@Nonnull PlayerReadyEvent event) {
         Ref<EntityStore> ref = event.getPlayer().getReference();
         if (ref == null) return;
@@ -149,7 +228,15 @@ public class ExamplePlugin extends JavaPlugin {
                 if (player == null) return;
                 if (player.getHudManager() == null) return;
 
-                this.debugManager.setDebugEnabled(ref, true);
+                // a late ready task for a player that already left must not recreate their state
+                PlayerRef playerRef = (PlayerRef) store.getComponent(ref, PlayerRef.getComponentType());
+                if (playerRef == null || !this.sessionRegistry.isOnline(playerRef)) return;
+
+                this.debugManager.setDebugEnabled(playerRef, true);
+
+                // resolve the rank once on join; afterwards HUDs read it from the cache
+                UUIDComponent uuidComp = (UUIDComponent) store.getComponent(ref, UUIDComponent.getComponentType());
+                if (uuidComp != null) this.rankCache.refresh(uuidComp.getUuid(), player);
             } catch (Throwable ignored) {}
         });
     }
@@ -0,0 +1,97 @@
+package com.example.exampleplugin;
+
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resolves the item an entity is currently holding.
+ *
+ * The accessor names differ between server versions, so the candidate getters are discovered once per
+ * concrete inventory / entity class and cached as MethodHandles in a ClassValue. After the first lookup
+ * for a class, resolving the held item is a plain handle invocation with no reflection or exceptions.
+ */
+public final class HeldItemResolver {
+    private HeldItemResolver() {}
+
+    // candidate names to try on inventory and entity, in order of preference
+    private static final String[] HELD_ITEM_GETTERS = { "getActiveHotbarItem", "getActiveHotbarItemStack", "getItemInHand", "getActiveItem", "getActiveSlotItem", "getItem" };
+
+    private static final MethodHandle[] NONE = new MethodHandle[0];
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    // concrete class -> getInventory() (empty if the class has none)
+    private static final ClassValue<MethodHandle[]> INVENTORY_GETTER = new ClassValue<>() {
+        @Override
+        protected MethodHandle[] computeValue(Class<?> type) {
+            return findGetters(type, new String[]{ "getInventory" }, false);
+        }
+    };
+
+    // concrete class -> held-item getters it actually exposes, in preference order
+    private static final ClassValue<MethodHandle[]> HELD_ITEM_GETTER = new ClassValue<>() {
+        @Override
+        protected MethodHandle[] computeValue(Class<?> type) {
+            return findGetters(type, HELD_ITEM_GETTERS, true);
+        }
+    };
+
+    /**
+     * Held item of the entity: looked up on its inventory first, then on the entity itself.
+     */
+    @Nullable
+    public static ItemStack getHeldItem(@Nullable Object entity) {
+        if (entity == null) return null;
+        MethodHandle[] invGetter = INVENTORY_GETTER.get(entity.getClass());
+        if (invGetter.length > 0) {
+            Object inventory = invoke(invGetter[0], entity);
+            if (inventory != null) {
+                ItemStack out = firstItemStack(inventory);
+                if (out != null) return out;
+            }
+        }
+        return firstItemStack(entity);
+    }
+
+    @Nullable
+    private static ItemStack firstItemStack(@Nonnull Object target) {
+        for (MethodHandle getter : HELD_ITEM_GETTER.get(target.getClass())) {
+            Object out = invoke(getter, target);
+            if (out instanceof ItemStack) return (ItemStack) out;
+        }
+        return null;
+    }
+
+    @Nullable
+    private static Object invoke(@Nonnull MethodHandle getter, @Nonnull Object target) {
+        try {
+            return (Object) getter.invokeExact(target);
+        } catch (Throwable ignored) {
+            return null;
+        }
+    }
+
+    private static MethodHandle[] findGetters(Class<?> type, String[] names, boolean itemStackOnly) {
+        List<MethodHandle> found = new ArrayList<>(names.length);
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        for (String name : names) {
+            try {
+                Method m = type.getMethod(name);
+                Class<?> rt = m.getReturnType();
+                if (rt == void.class) continue;
+                if (itemStackOnly && !rt.isAssignableFrom(ItemStack.class) && !ItemStack.class.isAssignableFrom(rt)) continue;
+                found.add(lookup.unreflect(m).asType(GETTER_TYPE));
+            } catch (NoSuchMethodException | IllegalAccessException ignored) {
+                // not exposed on this class
+            } catch (Throwable ignored) {}
+        }
+        return found.isEmpty() ? NONE : found.toArray(new MethodHandle[0]);
+    }
+}
@@ -1,9 +1,13 @@
 package com.example.exampleplugin;
 
+import com.hypixel.hytale.assetstore.event.LoadedAssetsEvent;
 import com.hypixel.hytale.common.plugin.PluginManifest;
+import com.hypixel.hytale.server.core.asset.type.item.config.Item;
 import com.hypixel.hytale.server.core.plugin.JavaPlugin;
 import com.hypixel.hytale.server.core.plugin.JavaPluginInit;
 import com.hypixel.hytale.component.ComponentRegistryProxy;
+import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.component.ResourceType;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 
 public class LifestealPlugin extends JavaPlugin {
@@ -11,6 +15,9 @@ public class LifestealPlugin extends JavaPlugin {
 
     private static LifestealPlugin instance;
 
+    private ComponentType<EntityStore, BleedSystems.BleedComponent> bleedComponentType;
+    private ResourceType<EntityStore, BleedSystems.PendingBleedAdds> pendingBleedAddsType;
+
     public static LifestealPlugin get() {
         return instance;
     }
@@ -23,6 +30,22 @@ public class LifestealPlugin extends JavaPlugin {
     @Override
     protected void setup() {
         ComponentRegistryProxy<EntityStore> entityStoreRegistry = getEntityStoreRegistry();
-        entityStoreRegistry.registerSystem(new LifestealSystems.LifestealOnDamage());
+        this.bleedComponentType = entityStoreRegistry.registerComponent(BleedSystems.BleedComponent.class, BleedSystems.BleedComponent::new);
+        this.pendingBleedAddsType = entityStoreRegistry.registerResource(BleedSystems.PendingBleedAdds.class, BleedSystems.PendingBleedAdds::new);
+        entityStoreRegistry.registerSystem(new CombatDamageSystem(
+                new LifestealSystems.LifestealEffect(),
+                new BleedSystems.BleedEffect()));
+        entityStoreRegistry.registerSystem(new BleedSystems.BleedTicking());
+
+        // weapon profiles are derived from item assets; rebuild them lazily after a reload
+        getEventRegistry().register(LoadedAssetsEvent.class, Item.class, event -> WeaponProfiles.invalidate());
+    }
+
+    public ComponentType<EntityStore, BleedSystems.BleedComponent> getBleedComponentType() {
+        return this.bleedComponentType;
+    }
+
+    public ResourceType<EntityStore, BleedSystems.PendingBleedAdds> getPendingBleedAddsType() {
+        return this.pendingBleedAddsType;
     }
 }
@@ -2,31 +2,17 @@ package com.example.exampleplugin;
 
 import com.hypixel.hytale.component.CommandBuffer;
 import com.hypixel.hytale.component.Store;
-import com.hypixel.hytale.component.ArchetypeChunk;
-import com.hypixel.hytale.component.Ref;
-import com.hypixel.hytale.component.query.Query;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
-import com.hypixel.hytale.server.core.modules.entity.damage.DamageEventSystem;
-import com.hypixel.hytale.server.core.modules.entity.damage.Damage;
-import com.hypixel.hytale.server.core.inventory.ItemStack;
-import com.hypixel.hytale.server.core.asset.type.item.config.Item;
 import com.hypixel.hytale.server.core.modules.entitystats.asset.DefaultEntityStatTypes;
 import com.hypixel.hytale.server.core.modules.entitystats.EntityStatMap;
-import com.hypixel.hytale.server.core.entity.EntityUtils;
-import com.hypixel.hytale.server.core.entity.Entity;
-import com.hypixel.hytale.server.core.entity.LivingEntity;
-import com.hypixel.hytale.server.core.modules.entity.AllLegacyLivingEntityTypesQuery;
 
 import javax.annotation.Nonnull;
-import javax.annotation.Nullable;
-import java.lang.reflect.Method;
-import java.util.Map;
-import java.util.HashMap;
 
 /**
- * Robust lifesteal system (silent):
- * - uses reflection to try multiple inventory / item getters
- * - supports explicit ITEM_LIFESTEAL_MAP
+ * Robust lifesteal effect (silent):
+ * - attacker and held item are resolved once per hit by CombatDamageSystem
+ * - lifesteal ratio comes from the cached WeaponProfiles (explicit item map, then dagger heuristic)
+ * - bleed damage is skipped: BleedTicking heals the attacker for it itself
  *
  * NOTE: all console logging removed to avoid spamming server output.
  */
@@ -34,61 +20,24 @@ public final class LifestealSystems {
 
     private LifestealSystems() { /* utility */ }
 
-    public static class LifestealOnDamage extends DamageEventSystem {
-
-        private static final double DEFAULT_DAGGER_LIFESTEAL = 0.12;
-
-        // Add your item IDs here (exact match to itemStack.getItemId()).
-        private static final Map<String, Double> ITEM_LIFESTEAL_MAP;
-        static {
-            ITEM_LIFESTEAL_MAP = new HashMap<>();
-            ITEM_LIFESTEAL_MAP.put("items/dagger_basic", 0.12);
-            // ITEM_LIFESTEAL_MAP.put("items/your_dagger_id", 0.15);
-        }
-
-        public LifestealOnDamage() {
-            super();
-        }
-
-        @Nonnull
-        public Query<EntityStore> getQuery() {
-            return (Query<EntityStore>) AllLegacyLivingEntityTypesQuery.INSTANCE;
-        }
+    /**
+     * Heals the attacker by a share of the damage dealt, as given by the held weapon's profile.
+     * Runs inside CombatDamageSystem, which has already resolved attacker and weapon.
+     */
+    public static class LifestealEffect implements CombatDamageSystem.OnHitEffect {
 
         @Override
-        public void handle(int index, @Nonnull ArchetypeChunk<EntityStore> archetypeChunk,
-                           @Nonnull Store<EntityStore> store,
-                           @Nonnull CommandBuffer<EntityStore> commandBuffer,
-                           @Nonnull Damage damageEvent) {
-
+        public void onHit(@Nonnull CombatDamageSystem.Hit hit, @Nonnull Store<EntityStore> store, @Nonnull CommandBuffer<EntityStore> commandBuffer) {
+            // bleed ticks/bursts already grant lifesteal in BleedTicking; healing here too would double it
+            if (hit.bleedSourced) return;
             try {
-                if (damageEvent == null) return;
-                if (damageEvent.isCancelled()) return;
-
-                float damageAmount = damageEvent.getAmount();
-                if (damageAmount <= 0f) return;
-
-                Damage.Source source = damageEvent.getSource();
-                if (!(source instanceof Damage.EntitySource)) return;
-
-                Ref<EntityStore> attackerRef = ((Damage.EntitySource) source).getRef();
-                if (attackerRef == null || !attackerRef.isValid()) return;
-
-                @Nullable Entity ent = EntityUtils.getEntity(attackerRef, store);
-                if (!(ent instanceof LivingEntity)) return;
-
-                LivingEntity attacker = (LivingEntity) ent;
-
-                ItemStack held = getHeldItemReflective(attacker);
-                if (held == null || ItemStack.isEmpty(held)) return;
-
-                double lifesteal = getLifestealFromItem(held);
+                double lifesteal = hit.weapon.lifesteal;
                 if (lifesteal <= 0.0) return;
 
-                double heal = damageAmount * lifesteal;
+                double heal = hit.amount * lifesteal;
                 if (heal <= 0.0) return;
 
-                EntityStatMap statMap = (EntityStatMap) store.getComponent(attackerRef, EntityStatMap.getComponentType());
+                EntityStatMap statMap = (EntityStatMap) store.getComponent(hit.attackerRef, EntityStatMap.getComponentType());
                 if (statMap == null) return;
 
                 float healFloat = (float) heal;
@@ -98,87 +47,5 @@ public final class LifestealSystems {
                 // intentionally silent to avoid console spam
             }
         }
-
-        // Attempt many getter names by reflection so we work despite API differences.
-        @Nullable
-        private ItemStack getHeldItemReflective(@Nonnull LivingEntity attacker) {
-            try {
-                Object inventory = tryInvoke(attacker, "getInventory");
-                if (inventory == null) return null;
-
-                // candidate names to try on inventory and attacker
-                String[] tries = { "getActiveHotbarItem", "getActiveHotbarItemStack", "getItemInHand", "getActiveItem", "getActiveSlotItem", "getItem" };
-
-                for (String name : tries) {
-                    try {
-                        Method m = inventory.getClass().getMethod(name);
-                        Object out = m.invoke(inventory);
-                        if (out instanceof ItemStack) return (ItemStack) out;
-                    } catch (NoSuchMethodException ignore) {
-                    }
-                }
-
-                // fallback: some LivingEntity implementations expose getter directly
-                for (String name : tries) {
-                    try {
-                        Method m = attacker.getClass().getMethod(name);
-                        Object out = m.invoke(attacker);
-                        if (out instanceof ItemStack) return (ItemStack) out;
-                    } catch (NoSuchMethodException ignore) {
-                    }
-                }
-            } catch (Throwable ignored) {
-                // silent
-            }
-            return null;
-        }
-
-        // try to call zero-arg method name on obj, return null if not found or invocation failed
-        private Object tryInvoke(Object obj, String methodName) {
-            try {
-                Method m = obj.getClass().getMethod(methodName);
-                return m.invoke(obj);
-            } catch (Throwable ignored) {
-                return null;
-            }
-        }
-
-        private String safeItemId(@Nullable ItemStack stack) {
-            if (stack == null) return "null";
-            try { return String.valueOf(stack.getItemId()); } catch (Throwable ignored) { return "unknown"; }
-        }
-
-        private double getLifestealFromItem(@Nonnull ItemStack itemStack) {
-            if (itemStack == null) return 0.0;
-
-            // explicit mapping
-            try {
-                String id = itemStack.getItemId();
-                if (id != null) {
-                    Double v = ITEM_LIFESTEAL_MAP.get(id);
-                    if (v != null) return v;
-                }
-            } catch (Throwable ignored) {}
-
-            // categories fallback
-            try {
-                Item it = itemStack.getItem();
-                if (it != null) {
-                    String[] cats = it.getCategories();
-                    if (cats != null) {
-                        for (String c : cats) {
-                            if (c != null && c.equalsIgnoreCase("Dagger")) return DEFAULT_DAGGER_LIFESTEAL;
-                        }
-                    }
-                }
-            } catch (Throwable ignored) {}
-
-            try {
-                String idlower = itemStack.getItemId();
-                if (idlower != null && idlower.toLowerCase().contains("dagger")) return DEFAULT_DAGGER_LIFESTEAL;
-            } catch (Throwable ignored) {}
-
-            return 0.0;
-        }
     }
-}
\ No newline at end of file
+}
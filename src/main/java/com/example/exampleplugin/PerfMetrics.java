@@ -0,0 +1,295 @@
+package com.example.exampleplugin;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * PerfMetrics — per-system tick cost of this plugin's ECS systems.
+ *
+ * Each system owns a Section and brackets its work:
+ *   long t0 = PERF.begin();
+ *   try { ... PERF.visit(chunk.size()); ... } finally { PERF.end(t0); }
+ *
+ * Per invocation (one world tick of a ticking system, or one callback of an event/ref system) it records
+ * wall time into a log-bucketed histogram (8 sub-buckets per power of two, ~12% resolution, like
+ * HdrHistogram with 1 significant digit), the entities visited and the bytes the thread allocated
+ * (ThreadMXBean, when the JVM supports it).
+ *
+ * Windows roll every WINDOW_MS; reports cover the previous full window plus the current one (a window
+ * older than that after an idle gap is dropped, not reported).
+ *
+ * Off by default so production ticks pay nothing: begin() then returns 0 and visit()/end() return
+ * immediately. Enable with /pluginperf on, or "perfMetrics": true in debug.json.
+ */
+public final class PerfMetrics {
+    public static final long WINDOW_MS = 60_000L;
+
+    private static final int MAX_SECTIONS = 32;
+    private static final int SUB_BITS = 3;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int BUCKETS = 64 * SUB_COUNT;
+
+    private static final Map<String, Section> SECTIONS = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    // per-thread scratch: allocation counter at begin() and entities visited, per section id
+    private static final ThreadLocal<long[][]> SCRATCH = ThreadLocal.withInitial(() -> new long[][] { new long[MAX_SECTIONS], new long[MAX_SECTIONS] });
+
+    @Nullable
+    private static final com.sun.management.ThreadMXBean THREADS = resolveThreadBean();
+
+    private static volatile boolean enabled = false;
+
+    private PerfMetrics() {}
+
+    @Nullable
+    private static com.sun.management.ThreadMXBean resolveThreadBean() {
+        try {
+            java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (!(bean instanceof com.sun.management.ThreadMXBean)) return null;
+            com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+            if (!sunBean.isThreadAllocatedMemorySupported()) return null;
+            if (!sunBean.isThreadAllocatedMemoryEnabled()) sunBean.setThreadAllocatedMemoryEnabled(true);
+            return sunBean;
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+
+    /**
+     * Get or create the section for a system. Sections are meant to be held in a static/final field.
+     */
+    @Nonnull
+    public static Section section(@Nonnull String name) {
+        return SECTIONS.computeIfAbsent(name, n -> {
+            int id = NEXT_ID.getAndIncrement();
+            if (id >= MAX_SECTIONS) throw new IllegalStateException("Too many perf sections (max " + MAX_SECTIONS + ")");
+            return new Section(n, id);
+        });
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean on) {
+        enabled = on;
+    }
+
+    public static boolean isAllocationTracked() {
+        return THREADS != null;
+    }
+
+    public static void resetAll() {
+        for (Section s : SECTIONS.values()) s.reset();
+    }
+
+    /**
+     * Snapshot of every section, sorted by p99 (most expensive first).
+     */
+    @Nonnull
+    public static List<Snapshot> snapshot() {
+        List<Snapshot> out = new ArrayList<>(SECTIONS.size());
+        for (Section s : SECTIONS.values()) out.add(s.snapshot());
+        out.sort((a, b) -> Long.compare(b.p99Nanos, a.p99Nanos));
+        return out;
+    }
+
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean bean = THREADS;
+        if (bean == null) return 0L;
+        try {
+            return bean.getCurrentThreadAllocatedBytes();
+        } catch (Throwable t) {
+            return 0L;
+        }
+    }
+
+    public static final class Section {
+        private final String name;
+        private final int id;
+        private volatile Window current = new Window(System.currentTimeMillis());
+        private volatile Window previous = null;
+
+        private Section(String name, int id) {
+            this.name = name;
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Start a measurement on this thread. Returns 0 when metrics are disabled.
+         */
+        public long begin() {
+            if (!enabled) return 0L;
+            long[][] scratch = SCRATCH.get();
+            scratch[0][id] = allocatedBytes();
+            scratch[1][id] = 0L;
+            return System.nanoTime();
+        }
+
+        /**
+         * Count entities visited by the measurement in progress on this thread.
+         */
+        public void visit(int entities) {
+            if (!enabled) return;
+            SCRATCH.get()[1][id] += entities;
+        }
+
+        public void end(long startNanos) {
+            if (startNanos == 0L) return;
+            long elapsed = System.nanoTime() - startNanos;
+            long[][] scratch = SCRATCH.get();
+            long alloc = (THREADS != null) ? Math.max(0L, allocatedBytes() - scratch[0][id]) : 0L;
+            window(System.currentTimeMillis()).record(elapsed, scratch[1][id], alloc);
+        }
+
+        private Window window(long nowMs) {
+            Window w = current;
+            if (nowMs - w.startMs < WINDOW_MS) return w;
+            synchronized (this) {
+                w = current;
+                if (nowMs - w.startMs >= WINDOW_MS) {
+                    // after an idle gap the old window is not adjacent to the new one; don't report it
+                    previous = (nowMs - w.startMs >= 2 * WINDOW_MS) ? null : w;
+                    w = new Window(nowMs);
+                    current = w;
+                }
+                return w;
+            }
+        }
+
+        synchronized void reset() {
+            previous = null;
+            current = new Window(System.currentTimeMillis());
+        }
+
+        Snapshot snapshot() {
+            Window cur = current;
+            Window prev = previous;
+            long[] counts = new long[BUCKETS];
+            cur.addTo(counts);
+            if (prev != null) prev.addTo(counts);
+
+            long samples = cur.samples.sum() + (prev != null ? prev.samples.sum() : 0L);
+            long totalNanos = cur.totalNanos.sum() + (prev != null ? prev.totalNanos.sum() : 0L);
+            long visited = cur.visited.sum() + (prev != null ? prev.visited.sum() : 0L);
+            long alloc = cur.allocBytes.sum() + (prev != null ? prev.allocBytes.sum() : 0L);
+            long max = Math.max(cur.maxNanos.get(), prev != null ? prev.maxNanos.get() : 0L);
+            long spanMs = Math.max(1L, System.currentTimeMillis() - (prev != null ? prev.startMs : cur.startMs));
+
+            return new Snapshot(name, samples, spanMs, totalNanos,
+                    percentile(counts, samples, 0.50), percentile(counts, samples, 0.90), percentile(counts, samples, 0.99),
+                    max, visited, alloc);
+        }
+    }
+
+    private static final class Window {
+        final long startMs;
+        final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        final LongAdder samples = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAdder visited = new LongAdder();
+        final LongAdder allocBytes = new LongAdder();
+        final AtomicLong maxNanos = new AtomicLong();
+
+        Window(long startMs) {
+            this.startMs = startMs;
+        }
+
+        void record(long nanos, long entities, long alloc) {
+            buckets.incrementAndGet(bucketOf(nanos));
+            samples.increment();
+            totalNanos.add(nanos);
+            if (entities != 0L) visited.add(entities);
+            if (alloc != 0L) allocBytes.add(alloc);
+            long m;
+            while (nanos > (m = maxNanos.get()) && !maxNanos.compareAndSet(m, nanos)) { /* retry */ }
+        }
+
+        void addTo(long[] counts) {
+            for (int i = 0; i < BUCKETS; i++) counts[i] += buckets.get(i);
+        }
+    }
+
+    private static int bucketOf(long value) {
+        if (value < SUB_COUNT) return (int) Math.max(0L, value);
+        int exp = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) ((value >>> (exp - SUB_BITS)) & (SUB_COUNT - 1));
+        return (exp - SUB_BITS + 1) * SUB_COUNT + sub;
+    }
+
+    // highest value that falls into the bucket
+    private static long bucketUpperBound(int bucket) {
+        if (bucket < SUB_COUNT) return bucket;
+        int exp = bucket / SUB_COUNT + SUB_BITS - 1;
+        int sub = bucket % SUB_COUNT;
+        long lower = ((long) (SUB_COUNT + sub)) << (exp - SUB_BITS);
+        return lower + (1L << (exp - SUB_BITS)) - 1L;
+    }
+
+    private static long percentile(long[] counts, long total, double q) {
+        if (total <= 0L) return 0L;
+        long rank = (long) Math.ceil(q * total);
+        long seen = 0L;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) return bucketUpperBound(i);
+        }
+        return bucketUpperBound(counts.length - 1);
+    }
+
+    /**
+     * Aggregated view of one section over the reported window(s).
+     */
+    public static final class Snapshot {
+        public final String name;
+        public final long samples;
+        public final long spanMs;
+        public final long totalNanos;
+        public final long p50Nanos, p90Nanos, p99Nanos, maxNanos;
+        public final long visited;
+        public final long allocBytes;
+
+        Snapshot(String name, long samples, long spanMs, long totalNanos, long p50Nanos, long p90Nanos, long p99Nanos,
+                 long maxNanos, long visited, long allocBytes) {
+            this.name = name;
+            this.samples = samples;
+            this.spanMs = spanMs;
+            this.totalNanos = totalNanos;
+            this.p50Nanos = p50Nanos;
+            this.p90Nanos = p90Nanos;
+            this.p99Nanos = p99Nanos;
+            this.maxNanos = maxNanos;
+            this.visited = visited;
+            this.allocBytes = allocBytes;
+        }
+
+        /**
+         * Share of wall time spent in this section (across all world threads), in percent.
+         */
+        public double busyPercent() {
+            return totalNanos / (spanMs * 10_000.0);
+        }
+
+        public double avgVisited() {
+            return samples == 0L ? 0.0 : (double) visited / samples;
+        }
+
+        public double avgAllocBytes() {
+            return samples == 0L ? 0.0 : (double) allocBytes / samples;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.exampleplugin;
+
+import com.hypixel.hytale.component.AddReason;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.RemoveReason;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.system.RefSystem;
+import com.hypixel.hytale.logger.HytaleLogger;
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.event.events.player.PlayerDisconnectEvent;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * PlayerSessionRegistry — single owner of the per-player lifecycle.
+ *
+ * - Player entity added: the first add for a PlayerRef opens its session (listeners: onSessionStarted);
+ *   later adds are world transfers and only update the tracked entity ref
+ * - Player entity removed: listeners drop state tied to that entity ref (onPlayerEntityRemoved)
+ * - PlayerDisconnectEvent: the session is closed and every listener evicts the player (onPlayerDisconnected)
+ *
+ * The disconnect event can fire while the player entity is still in its world, so systems may recreate
+ * per-player state after the eviction. When the entity of a closed session is removed, listeners are
+ * therefore told again (onPlayerDisconnected, which must be idempotent), and a closed PlayerRef never
+ * opens a new session.
+ *
+ * Per-player maps (debug/scoreboard toggles, spawn trigger times, HUD state, rank and playtime caches)
+ * register a listener instead of cleaning up on their own, so their size is bounded by online players.
+ */
+public final class PlayerSessionRegistry extends RefSystem<EntityStore> {
+    private static final HytaleLogger LOG = HytaleLogger.forEnclosingClass();
+
+    /**
+     * Lifecycle callbacks. Called on the world thread (add/remove) or the event thread (disconnect);
+     * implementations must be thread-safe and must not throw. onPlayerDisconnected may be called more than
+     * once for the same player.
+     */
+    public interface Listener {
+        default void onSessionStarted(@Nonnull PlayerRef playerRef, @Nullable UUID uuid) {}
+
+        default void onPlayerEntityRemoved(@Nonnull PlayerRef playerRef, @Nonnull Ref<EntityStore> ref) {}
+
+        void onPlayerDisconnected(@Nonnull PlayerRef playerRef, @Nullable UUID uuid);
+    }
+
+    private static final class Session {
+        final UUID uuid;
+        volatile Ref<EntityStore> ref;
+
+        Session(UUID uuid, Ref<EntityStore> ref) {
+            this.uuid = uuid;
+            this.ref = ref;
+        }
+    }
+
+    private final Map<PlayerRef, Session> sessions = new ConcurrentHashMap<>();
+    // PlayerRefs whose connection is gone; weak so the set never outlives the refs themselves
+    private final Set<PlayerRef> closed = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    public void addListener(@Nonnull Listener listener) {
+        this.listeners.add(listener);
+    }
+
+    @Nonnull
+    @Override
+    public Query<EntityStore> getQuery() {
+        ComponentType<EntityStore, PlayerRef> playerRefType = PlayerRef.getComponentType();
+        ComponentType<EntityStore, Player> playerType = Player.getComponentType();
+        if (playerRefType == null || playerType == null) return Query.any();
+        @SuppressWarnings("unchecked")
+        Query<EntityStore> q = (Query<EntityStore>) Query.and(new Query[] { (Query) playerRefType, (Query) playerType });
+        return q;
+    }
+
+    @Override
+    public void onEntityAdded(@Nonnull Ref<EntityStore> ref, @Nonnull AddReason reason, @Nonnull Store<EntityStore> store, @Nonnull CommandBuffer<EntityStore> commandBuffer) {
+        try {
+            PlayerRef playerRef = commandBuffer.getComponent(ref, PlayerRef.getComponentType());
+            if (playerRef == null || closed.contains(playerRef)) return;
+
+            Session existing = sessions.get(playerRef);
+            if (existing != null) {
+                // world transfer: same connection, new entity
+                existing.ref = ref;
+                return;
+            }
+            UUID uuid = playerRef.getUuid();
+            if (sessions.putIfAbsent(playerRef, new Session(uuid, ref)) != null) return;
+
+            for (Listener l : listeners) {
+                try {
+                    l.onSessionStarted(playerRef, uuid);
+                } catch (Throwable t) {
+                    LOG.atWarning().withCause(t).log("[PlayerSession] onSessionStarted failed for %s", uuid);
+                }
+            }
+        } catch (Throwable ignored) {
+            // keep add robust
+        }
+    }
+
+    @Override
+    public void onEntityRemove(@Nonnull Ref<EntityStore> ref, @Nonnull RemoveReason reason, @Nonnull Store<EntityStore> store, @Nonnull CommandBuffer<EntityStore> commandBuffer) {
+        try {
+            PlayerRef playerRef = commandBuffer.getComponent(ref, PlayerRef.getComponentType());
+            if (playerRef == null) return;
+
+            Session session = sessions.get(playerRef);
+            if (session == null) {
+                // disconnected while the entity was still ticking: drop whatever was recreated since
+                evict(playerRef, playerRef.getUuid());
+                return;
+            }
+            if (ref.equals(session.ref)) session.ref = null;
+
+            for (Listener l : listeners) {
+                try {
+                    l.onPlayerEntityRemoved(playerRef, ref);
+                } catch (Throwable t) {
+                    LOG.atWarning().withCause(t).log("[PlayerSession] onPlayerEntityRemoved failed");
+                }
+            }
+        } catch (Throwable ignored) {
+            // keep remove robust
+        }
+    }
+
+    /**
+     * PlayerDisconnectEvent handler: close the session and evict the player everywhere.
+     */
+    public void onPlayerDisconnect(@Nonnull PlayerDisconnectEvent event) {
+        PlayerRef playerRef = event.getPlayerRef();
+        if (playerRef == null) return;
+
+        closed.add(playerRef);
+        Session session = sessions.remove(playerRef);
+        evict(playerRef, (session != null) ? session.uuid : playerRef.getUuid());
+    }
+
+    private void evict(@Nonnull PlayerRef playerRef, @Nullable UUID uuid) {
+        for (Listener l : listeners) {
+            try {
+                l.onPlayerDisconnected(playerRef, uuid);
+            } catch (Throwable t) {
+                LOG.atWarning().withCause(t).log("[PlayerSession] onPlayerDisconnected failed for %s", uuid);
+            }
+        }
+    }
+
+    public boolean isOnline(@Nullable PlayerRef playerRef) {
+        return playerRef != null && sessions.containsKey(playerRef);
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+}
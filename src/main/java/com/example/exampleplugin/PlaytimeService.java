@@ -0,0 +1,72 @@
+package com.example.exampleplugin;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Plugin-wide playtime tracking on top of a single PlaytimeStore.
+ *
+ * Sessions are keyed by player UUID, and begin/end are idempotent: every system that sees a player may call
+ * beginSession()/endSession(), but a session is only opened once and credited to the store once. A world
+ * transfer that ends the session in one world and begins it in the next simply splits it in two.
+ */
+public final class PlaytimeService {
+    private final PlaytimeStore store;
+
+    // player uuid -> session start (ms)
+    private final Map<UUID, Long> sessionStarts = new ConcurrentHashMap<>();
+
+    public PlaytimeService(PlaytimeStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Load persisted totals and start background persistence. Call once at plugin setup.
+     */
+    public void start() {
+        store.load();
+        store.startWriteBehind();
+    }
+
+    /**
+     * Credit all open sessions and flush the store. Call on plugin shutdown.
+     */
+    public void shutdown() {
+        for (UUID uuid : sessionStarts.keySet()) {
+            endSession(uuid);
+        }
+        store.shutdown();
+    }
+
+    /**
+     * Open a session for the player unless one is already open.
+     */
+    public void beginSession(UUID uuid) {
+        if (uuid == null) return;
+        sessionStarts.putIfAbsent(uuid, System.currentTimeMillis());
+    }
+
+    /**
+     * Close the player's session (if open) and schedule its time to be persisted.
+     */
+    public void endSession(UUID uuid) {
+        if (uuid == null) return;
+        Long started = sessionStarts.remove(uuid);
+        if (started == null) return;
+        long elapsed = Math.max(0L, System.currentTimeMillis() - started);
+        store.addMillis(uuid, elapsed);
+        store.requestSave();
+    }
+
+    /**
+     * Stored total plus the currently open session, in ms (0 for unknown players).
+     */
+    public long getTotalMillis(UUID uuid) {
+        if (uuid == null) return 0L;
+        long total = store.getTotalMillis(uuid);
+        Long started = sessionStarts.get(uuid);
+        if (started != null) total += Math.max(0L, System.currentTimeMillis() - started);
+        return total;
+    }
+}
@@ -1,33 +1,95 @@
 package com.example.exampleplugin;
 
 import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Simple persistent store for per-player cumulative playtime (milliseconds).
  *
- * File format: Java Properties at plugin-data/NewTemplatePlugin/playtimes.properties
- * Key = player-uuid (string), Value = total milliseconds (string long)
+ * Files under plugin-data/NewTemplatePlugin/:
+ * - playtimes.snapshot: header (magic, version, generation, count) then count x (uuid msb, uuid lsb, total ms)
+ * - playtimes.journal:  header (magic, generation) then append-only (uuid msb, uuid lsb, delta ms) records
+ *
+ * A save appends only the deltas accumulated since the previous save, so its cost is proportional to the
+ * players that actually played, not to every player ever seen. Once the journal grows past
+ * COMPACT_AFTER_RECORDS it is folded into a fresh snapshot. The snapshot records the journal generation it
+ * already contains; a journal is only replayed on load if its generation is newer, so a crash between
+ * writing the snapshot and resetting the journal never double-counts; such a stale journal (or one with a
+ * damaged header) is replaced by an empty one of the current generation on load. The snapshot is read into
+ * a heap buffer, so no mapping keeps the file locked and it can be replaced on every platform.
+ *
+ * A failed compaction keeps the journal (and the pending deltas it did not cover) as they were and is
+ * retried with an exponential backoff instead of on every save.
+ *
+ * The legacy playtimes.properties file is imported once when no snapshot exists yet.
+ *
+ * With startWriteBehind() callers only requestSave(); a background virtual thread coalesces those requests
+ * and flushes at most once per interval, keeping disk I/O off the world tick threads.
  *
  * This class is thread-safe.
  */
 public class PlaytimeStore {
-    private final Path storeFile;
+    private static final long DEFAULT_FLUSH_INTERVAL_MS = 5_000L;
+
+    private static final int SNAPSHOT_MAGIC = 0x50545350; // "PTSP"
+    private static final int JOURNAL_MAGIC = 0x50544A4C;  // "PTJL"
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int SNAPSHOT_HEADER_BYTES = 4 + 4 + 8 + 4;
+    private static final int JOURNAL_HEADER_BYTES = 4 + 8;
+    private static final int RECORD_BYTES = 8 + 8 + 8;
+    private static final long COMPACT_AFTER_RECORDS = 8_192L;
+    private static final long COMPACT_RETRY_MIN_MS = 30_000L;
+    private static final long COMPACT_RETRY_MAX_MS = 10 * 60_000L;
+
+    private final Path snapshotFile;
+    private final Path snapshotTempFile;
+    private final Path journalFile;
+    private final Path journalTempFile;
+    private final Path legacyFile;
+
     private final Map<UUID, Long> playtimes = new ConcurrentHashMap<>();
+    // deltas not yet appended to the journal
+    private final Map<UUID, Long> pendingDeltas = new ConcurrentHashMap<>();
+    // guards playtimes + pendingDeltas together so compaction sees a consistent cut
+    private final Object mutationLock = new Object();
+
+    // generation of the current journal (always > the snapshot's generation) and its record count
+    private long journalGeneration = 1L;
+    private long journalRecords = 0L;
+    // true while journalFile does not carry journalGeneration (its rotation failed); nothing is appended then
+    private boolean journalStale = false;
+    // earliest time the next compaction may run after a failure, and the backoff that led to it
+    private long nextCompactAttemptMs = 0L;
+    private long compactRetryMs = COMPACT_RETRY_MIN_MS;
+
+    // set by requestSave(), cleared by the flusher right before it writes
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
+    private volatile Thread flusher;
 
     public PlaytimeStore() {
         // Store under a directory we control. This should be writable by the server process.
-        // Location: working-dir/plugin-data/NewTemplatePlugin/playtimes.properties
+        // Location: working-dir/plugin-data/NewTemplatePlugin/
         Path dir = Paths.get("plugin-data", "NewTemplatePlugin");
-        this.storeFile = dir.resolve("playtimes.properties");
+        this.snapshotFile = dir.resolve("playtimes.snapshot");
+        this.snapshotTempFile = dir.resolve("playtimes.snapshot.tmp");
+        this.journalFile = dir.resolve("playtimes.journal");
+        this.journalTempFile = dir.resolve("playtimes.journal.tmp");
+        this.legacyFile = dir.resolve("playtimes.properties");
         try {
             Files.createDirectories(dir);
         } catch (IOException e) {
@@ -39,9 +101,115 @@ public class PlaytimeStore {
      * Load playtimes from disk. Best-effort; throws no errors to callers.
      */
     public synchronized void load() {
-        if (!Files.exists(storeFile)) return;
+        long snapshotGeneration = 0L;
+        if (Files.exists(snapshotFile)) {
+            snapshotGeneration = loadSnapshot();
+        } else if (Files.exists(legacyFile)) {
+            loadLegacyProperties();
+            // migrate: write the imported totals as the first snapshot
+            compact(0L);
+            return;
+        }
+        replayJournal(snapshotGeneration);
+    }
+
+    /**
+     * Read the snapshot into a heap buffer. Returns the journal generation it contains.
+     */
+    private long loadSnapshot() {
+        try (FileChannel ch = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size < SNAPSHOT_HEADER_BYTES || size > Integer.MAX_VALUE) return 0L;
+            ByteBuffer buf = ByteBuffer.allocate((int) size);
+            while (buf.hasRemaining() && ch.read(buf) > 0) { /* read fully */ }
+            buf.flip();
+            if (buf.getInt() != SNAPSHOT_MAGIC || buf.getInt() != SNAPSHOT_VERSION) return 0L;
+            long generation = buf.getLong();
+            int count = buf.getInt();
+            for (int i = 0; i < count && buf.remaining() >= RECORD_BYTES; i++) {
+                UUID uuid = new UUID(buf.getLong(), buf.getLong());
+                playtimes.put(uuid, buf.getLong());
+            }
+            return generation;
+        } catch (IOException e) {
+            // ignore load failure (we'll treat as empty store)
+            return 0L;
+        }
+    }
+
+    /**
+     * Apply journal deltas on top of the snapshot, unless the snapshot already contains that journal.
+     * A torn record at the tail (crash mid-append) is cut off so later appends stay record-aligned.
+     * A journal that is too short, has a bad magic or is already in the snapshot is replaced by an empty
+     * journal of the next generation, so later appends are not written under a header load would reject.
+     */
+    private void replayJournal(long snapshotGeneration) {
+        journalGeneration = snapshotGeneration + 1;
+        journalRecords = 0L;
+        journalStale = false;
+        if (!Files.exists(journalFile)) return;
+        boolean replace = false;
+        try (FileChannel ch = FileChannel.open(journalFile, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(JOURNAL_HEADER_BYTES);
+            long generation = 0L;
+            if (ch.read(header, 0) < JOURNAL_HEADER_BYTES) {
+                replace = true;
+            } else {
+                header.flip();
+                if (header.getInt() != JOURNAL_MAGIC) {
+                    replace = true;
+                } else {
+                    generation = header.getLong();
+                    if (generation <= snapshotGeneration) replace = true; // already folded into the snapshot
+                }
+            }
+            if (replace) return;
+
+            journalGeneration = generation;
+            ByteBuffer buf = ByteBuffer.allocate(RECORD_BYTES * 1024);
+            long pos = JOURNAL_HEADER_BYTES;
+            while (true) {
+                buf.clear();
+                int read = ch.read(buf, pos);
+                if (read <= 0) break;
+                buf.flip();
+                while (buf.remaining() >= RECORD_BYTES) {
+                    UUID uuid = new UUID(buf.getLong(), buf.getLong());
+                    playtimes.merge(uuid, buf.getLong(), Long::sum);
+                    journalRecords++;
+                }
+                pos += read - buf.remaining();
+                if (read < buf.capacity()) break;
+            }
+            if (ch.size() > pos) ch.truncate(pos);
+        } catch (IOException e) {
+            // ignore; keep whatever was replayed
+        } finally {
+            // after the channel is closed, so the move also works where open files cannot be replaced
+            if (replace) rotateJournal();
+        }
+    }
+
+    /**
+     * Atomically replace the journal with an empty one of journalGeneration. On failure the journal is
+     * marked stale and save() keeps deltas pending until a later rotation succeeds.
+     */
+    private boolean rotateJournal() {
+        try {
+            writeJournalHeader(journalTempFile, journalGeneration);
+            moveReplacing(journalTempFile, journalFile);
+            journalRecords = 0L;
+            journalStale = false;
+            return true;
+        } catch (IOException e) {
+            journalStale = true;
+            return false;
+        }
+    }
+
+    private void loadLegacyProperties() {
         Properties props = new Properties();
-        try (BufferedInputStream in = new BufferedInputStream(Files.newInputStream(storeFile))) {
+        try (BufferedInputStream in = new BufferedInputStream(Files.newInputStream(legacyFile))) {
             props.load(in);
             for (String key : props.stringPropertyNames()) {
                 try {
@@ -58,17 +226,185 @@ public class PlaytimeStore {
     }
 
     /**
-     * Save the current in-memory playtimes to disk. Best-effort; logs nothing here.
+     * Append pending deltas to the journal, compacting into a new snapshot when the journal is large.
+     * Best-effort; logs nothing here.
      */
     public synchronized void save() {
-        Properties props = new Properties();
-        for (Map.Entry<UUID, Long> e : playtimes.entrySet()) {
-            props.setProperty(e.getKey().toString(), Long.toString(e.getValue()));
+        if (journalStale && !rotateJournal()) return; // keep deltas pending; retried on the next save
+        if (!pendingDeltas.isEmpty()) {
+            ByteBuffer buf = ByteBuffer.allocate(RECORD_BYTES * pendingDeltas.size() + RECORD_BYTES * 16);
+            // the drained deltas go back into pendingDeltas if the append fails
+            Map<UUID, Long> drained = new HashMap<>();
+            for (UUID uuid : pendingDeltas.keySet()) {
+                Long delta = pendingDeltas.remove(uuid);
+                if (delta == null || delta == 0L) continue;
+                if (buf.remaining() < RECORD_BYTES) buf = grow(buf);
+                buf.putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits()).putLong(delta);
+                drained.put(uuid, delta);
+            }
+            if (!drained.isEmpty()) {
+                buf.flip();
+                try {
+                    if (!Files.exists(journalFile)) writeJournalHeader(journalFile, journalGeneration);
+                    try (FileChannel ch = FileChannel.open(journalFile, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                        long start = ch.size();
+                        try {
+                            while (buf.hasRemaining()) ch.write(buf);
+                        } catch (IOException e) {
+                            // cut a partial append so the retry does not count those records twice
+                            ch.truncate(start);
+                            throw e;
+                        }
+                    }
+                    journalRecords += drained.size();
+                } catch (IOException e) {
+                    // keep the deltas pending; the next save (or compaction) retries them
+                    synchronized (mutationLock) {
+                        for (Map.Entry<UUID, Long> d : drained.entrySet()) {
+                            pendingDeltas.merge(d.getKey(), d.getValue(), Long::sum);
+                        }
+                    }
+                }
+            }
+        }
+        if (journalRecords >= COMPACT_AFTER_RECORDS && System.currentTimeMillis() >= nextCompactAttemptMs) {
+            compact(journalGeneration);
+        }
+    }
+
+    /**
+     * Write all totals as a snapshot containing journal generation {@code generation}, then start an
+     * empty journal with the next generation. Pending deltas are only dropped once the snapshot holding
+     * them is in place; on failure the next attempt is postponed with an exponential backoff.
+     */
+    private void compact(long generation) {
+        ByteBuffer buf;
+        Map<UUID, Long> covered;
+        synchronized (mutationLock) {
+            buf = ByteBuffer.allocate(SNAPSHOT_HEADER_BYTES + RECORD_BYTES * (playtimes.size() + 16));
+            buf.putInt(SNAPSHOT_MAGIC).putInt(SNAPSHOT_VERSION).putLong(generation);
+            int countPos = buf.position();
+            buf.putInt(0);
+            int count = 0;
+            for (Map.Entry<UUID, Long> e : playtimes.entrySet()) {
+                if (buf.remaining() < RECORD_BYTES) buf = grow(buf);
+                UUID uuid = e.getKey();
+                buf.putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits()).putLong(e.getValue());
+                count++;
+            }
+            buf.putInt(countPos, count);
+            // the snapshot will cover these deltas; anything added after this cut stays pending
+            covered = new HashMap<>(pendingDeltas);
         }
-        try (BufferedOutputStream out = new BufferedOutputStream(Files.newOutputStream(storeFile))) {
-            props.store(out, "Player cumulative playtimes (ms) for NewTemplatePlugin");
+        buf.flip();
+        try {
+            try (FileChannel ch = FileChannel.open(snapshotTempFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (buf.hasRemaining()) ch.write(buf);
+                ch.force(true);
+            }
+            moveReplacing(snapshotTempFile, snapshotFile);
         } catch (IOException e) {
-            // best-effort; ignore
+            // best-effort; the existing snapshot + journal stay valid, try again later
+            nextCompactAttemptMs = System.currentTimeMillis() + compactRetryMs;
+            compactRetryMs = Math.min(COMPACT_RETRY_MAX_MS, compactRetryMs * 2);
+            return;
+        }
+        nextCompactAttemptMs = 0L;
+        compactRetryMs = COMPACT_RETRY_MIN_MS;
+        synchronized (mutationLock) {
+            for (Map.Entry<UUID, Long> e : covered.entrySet()) {
+                pendingDeltas.computeIfPresent(e.getKey(), (k, v) -> (v - e.getValue() == 0L) ? null : v - e.getValue());
+            }
+        }
+
+        // the journal on disk is now part of the snapshot; until it is rotated nothing may be appended to it
+        journalGeneration = generation + 1;
+        rotateJournal();
+    }
+
+    private static void writeJournalHeader(Path file, long generation) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(JOURNAL_HEADER_BYTES);
+        header.putInt(JOURNAL_MAGIC).putLong(generation).flip();
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (header.hasRemaining()) ch.write(header);
+        }
+    }
+
+    private static void moveReplacing(Path from, Path to) throws IOException {
+        try {
+            Files.move(from, to, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(from, to, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static ByteBuffer grow(ByteBuffer buf) {
+        ByteBuffer bigger = ByteBuffer.allocate(buf.capacity() * 2);
+        buf.flip();
+        bigger.put(buf);
+        return bigger;
+    }
+
+    /**
+     * Ask for the store to be persisted. In write-behind mode this only marks the store dirty and returns
+     * immediately; otherwise it saves synchronously.
+     */
+    public void requestSave() {
+        if (flusher == null) {
+            save();
+            return;
+        }
+        dirty.set(true);
+    }
+
+    /**
+     * Start the background flusher with the default interval. Calling it again is a no-op.
+     */
+    public void startWriteBehind() {
+        startWriteBehind(DEFAULT_FLUSH_INTERVAL_MS);
+    }
+
+    /**
+     * Start a virtual thread that writes the store at most once per intervalMs, and only if it was dirtied.
+     */
+    public synchronized void startWriteBehind(long intervalMs) {
+        if (flusher != null) return;
+        final long interval = Math.max(100L, intervalMs);
+        flusher = Thread.ofVirtual().name("playtime-store-flusher").start(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(interval);
+                } catch (InterruptedException e) {
+                    break;
+                }
+                flushIfDirty();
+            }
+        });
+    }
+
+    /**
+     * Stop the background flusher (if any) and write any pending changes. Call on plugin shutdown.
+     */
+    public void shutdown() {
+        Thread t;
+        synchronized (this) {
+            t = flusher;
+            flusher = null;
+        }
+        if (t != null) {
+            t.interrupt();
+            try {
+                t.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flushIfDirty();
+    }
+
+    private void flushIfDirty() {
+        if (dirty.getAndSet(false)) {
+            save();
         }
     }
 
@@ -82,16 +418,22 @@ public class PlaytimeStore {
 
     /**
      * Add ms to stored total and persist in memory (but not automatically saved to disk here).
-     * Caller can call save() to flush immediately.
+     * Caller can call requestSave() to schedule a flush, or save() to flush immediately.
      */
     public void addMillis(UUID playerUuid, long millis) {
-        playtimes.merge(playerUuid, millis, Long::sum);
+        synchronized (mutationLock) {
+            playtimes.merge(playerUuid, millis, Long::sum);
+            pendingDeltas.merge(playerUuid, millis, Long::sum);
+        }
     }
 
     /**
      * Set absolute stored total.
      */
     public void setTotalMillis(UUID playerUuid, long totalMillis) {
-        playtimes.put(playerUuid, totalMillis);
+        synchronized (mutationLock) {
+            Long old = playtimes.put(playerUuid, totalMillis);
+            pendingDeltas.merge(playerUuid, totalMillis - ((old == null) ? 0L : old), Long::sum);
+        }
     }
-}
\ No newline at end of file
+}
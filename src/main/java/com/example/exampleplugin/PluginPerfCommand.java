@@ -0,0 +1,78 @@
+package com.example.exampleplugin;
+
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.arguments.system.OptionalArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
+import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * /pluginperf [on|off|reset] - per-system tick cost of this plugin (see PerfMetrics).
+ *
+ * Metrics are off by default (see PerfMetrics). Without an action prints one line per system: busy %, p50/p90/p99/max per tick, entities visited and
+ * bytes allocated per tick, over the last one to two minutes.
+ */
+public class PluginPerfCommand extends CommandBase {
+    private final OptionalArg<String> actionArg = withOptionalArg("action", "on, off or reset", ArgTypes.STRING);
+
+    public PluginPerfCommand() {
+        super("pluginperf", "Show tick-time metrics of the plugin's systems");
+    }
+
+    @Override
+    protected void executeSync(@Nonnull CommandContext context) {
+        String action = actionArg.provided(context) ? actionArg.get(context) : null;
+        if (action != null) {
+            switch (action.toLowerCase(Locale.ROOT)) {
+                case "on":
+                    PerfMetrics.setEnabled(true);
+                    context.sendMessage(Message.raw("Plugin perf metrics enabled"));
+                    return;
+                case "off":
+                    PerfMetrics.setEnabled(false);
+                    context.sendMessage(Message.raw("Plugin perf metrics disabled"));
+                    return;
+                case "reset":
+                    PerfMetrics.resetAll();
+                    context.sendMessage(Message.raw("Plugin perf metrics reset"));
+                    return;
+                default:
+                    context.sendMessage(Message.raw("Usage: /pluginperf [on|off|reset]"));
+                    return;
+            }
+        }
+
+        List<PerfMetrics.Snapshot> snapshots = PerfMetrics.snapshot();
+        if (snapshots.isEmpty()) {
+            context.sendMessage(Message.raw(PerfMetrics.isEnabled()
+                    ? "No plugin systems measured yet."
+                    : "No plugin systems measured yet; metrics are off (/pluginperf on)."));
+            return;
+        }
+        context.sendMessage(Message.raw(String.format(Locale.ROOT, "Plugin systems (%s, alloc %s):",
+                PerfMetrics.isEnabled() ? "enabled" : "disabled",
+                PerfMetrics.isAllocationTracked() ? "tracked" : "not supported by JVM")));
+        for (PerfMetrics.Snapshot s : snapshots) {
+            if (s.samples == 0L) continue;
+            context.sendMessage(Message.raw(String.format(Locale.ROOT,
+                    "%s: busy=%.2f%% n=%d p50=%s p90=%s p99=%s max=%s ents=%.1f alloc=%s",
+                    s.name, s.busyPercent(), s.samples,
+                    millis(s.p50Nanos), millis(s.p90Nanos), millis(s.p99Nanos), millis(s.maxNanos),
+                    s.avgVisited(), bytes(s.avgAllocBytes()))));
+        }
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3fms", nanos / 1_000_000.0);
+    }
+
+    private static String bytes(double b) {
+        if (b < 1024.0) return String.format(Locale.ROOT, "%.0fB", b);
+        if (b < 1024.0 * 1024.0) return String.format(Locale.ROOT, "%.1fKB", b / 1024.0);
+        return String.format(Locale.ROOT, "%.1fMB", b / (1024.0 * 1024.0));
+    }
+}
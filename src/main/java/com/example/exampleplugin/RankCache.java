@@ -0,0 +1,307 @@
+package com.example.exampleplugin;
+
+import com.hypixel.hytale.logger.HytaleLogger;
+import com.hypixel.hytale.server.core.entity.entities.Player;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Plugin-wide rank text cache ("Rank: X") keyed by player UUID.
+ *
+ * A rank is resolved once (on join, or on the first lookup) from the LuckPerms cached user, falling back to
+ * probing PERMISSION_RANK_MAP nodes. After that the HUDs only do a map read.
+ *
+ * - LuckPerms ranks stay cached until the UserDataRecalculateEvent listener replaces them; if that listener
+ *   could not be registered (LuckPerms missing or not started yet) they expire like fallback ranks
+ * - Ranks from the permission-node fallback have no change event, so they expire after FALLBACK_TTL_MS;
+ *   expireStale() (called from a world tick) drops them and the next lookup resolves them again
+ * - invalidate() drops an entry (disconnect)
+ *
+ * Change listeners are told whenever an entry changes or is dropped, so HUDs only re-read the rank then.
+ */
+public final class RankCache {
+    private static final HytaleLogger LOGGER = HytaleLogger.forEnclosingClass();
+
+    public static final String DEFAULT_RANK = "Rank: Member";
+
+    // Permission node -> friendly rank name (order matters; first match wins)
+    private static final LinkedHashMap<String, String> PERMISSION_RANK_MAP = new LinkedHashMap<>();
+    static {
+        PERMISSION_RANK_MAP.put("group.owner", "Owner");
+        PERMISSION_RANK_MAP.put("group.admin", "Admin");
+        PERMISSION_RANK_MAP.put("group.moderator", "Moderator");
+        PERMISSION_RANK_MAP.put("group.mod", "Moderator");
+        PERMISSION_RANK_MAP.put("group.vip", "VIP");
+        PERMISSION_RANK_MAP.put("group.member", "Member");
+    }
+
+    private static final long FALLBACK_TTL_MS = 30_000L;
+    private static final long SWEEP_INTERVAL_MS = 5_000L;
+
+    private static final class Entry {
+        final String text;
+        final long expiresAtMs; // Long.MAX_VALUE for LuckPerms ranks kept current by events
+
+        Entry(String text, long expiresAtMs) {
+            this.text = text;
+            this.expiresAtMs = expiresAtMs;
+        }
+    }
+
+    private final Map<UUID, Entry> ranks = new ConcurrentHashMap<>();
+    private final List<Consumer<UUID>> changeListeners = new CopyOnWriteArrayList<>();
+    private final AtomicLong nextSweepMs = new AtomicLong();
+    // true once the UserDataRecalculateEvent listener is subscribed
+    private volatile boolean luckPermsEvents = false;
+    // failed LuckPerms lookups are logged once, not per lookup
+    private static final AtomicBoolean LOOKUP_FAILURE_LOGGED = new AtomicBoolean(false);
+
+    /**
+     * Register the LuckPerms listener (no-op when LuckPerms is not installed). Call from the plugin's start(),
+     * after LuckPerms (an optional dependency) has started.
+     */
+    public void start() {
+        luckPermsEvents = tryRegisterLuckPermsEventListener();
+    }
+
+    /**
+     * Called with the player's UUID whenever the cached rank changed or was dropped. Listeners may be called
+     * from the LuckPerms event thread and must not throw.
+     */
+    public void addChangeListener(@Nonnull Consumer<UUID> listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Cached rank text for the player; resolves and caches it on a miss.
+     */
+    @Nonnull
+    public String getRank(@Nullable UUID uuid, @Nullable Player player) {
+        if (uuid == null) return resolve(null, player).text;
+        Entry entry = ranks.get(uuid);
+        if (entry != null) return entry.text;
+        entry = resolve(uuid, player);
+        Entry prev = ranks.putIfAbsent(uuid, entry);
+        return (prev != null) ? prev.text : entry.text;
+    }
+
+    /**
+     * Resolve the player's rank now and replace the cached entry (e.g. on join).
+     */
+    public void refresh(@Nonnull UUID uuid, @Nullable Player player) {
+        Entry entry = resolve(uuid, player);
+        Entry prev = ranks.put(uuid, entry);
+        if (prev == null || !prev.text.equals(entry.text)) fireChanged(uuid);
+    }
+
+    /**
+     * Drop the cached rank so the next lookup resolves it again.
+     */
+    public void invalidate(@Nullable UUID uuid) {
+        if (uuid != null && ranks.remove(uuid) != null) fireChanged(uuid);
+    }
+
+    /**
+     * Drop fallback-resolved ranks older than FALLBACK_TTL_MS. Cheap to call every tick: the entries are
+     * only scanned once per SWEEP_INTERVAL_MS.
+     */
+    public void expireStale(long nowMs) {
+        long next = nextSweepMs.get();
+        if (nowMs < next || !nextSweepMs.compareAndSet(next, nowMs + SWEEP_INTERVAL_MS)) return;
+        for (Map.Entry<UUID, Entry> e : ranks.entrySet()) {
+            if (e.getValue().expiresAtMs <= nowMs && ranks.remove(e.getKey(), e.getValue())) {
+                fireChanged(e.getKey());
+            }
+        }
+    }
+
+    private void fireChanged(UUID uuid) {
+        for (Consumer<UUID> l : changeListeners) {
+            try {
+                l.accept(uuid);
+            } catch (Throwable t) {
+                LOGGER.atWarning().withCause(t).log("[RANK] change listener failed");
+            }
+        }
+    }
+
+    @Nonnull
+    private Entry resolve(@Nullable UUID uuid, @Nullable Player player) {
+        long expiresAt = System.currentTimeMillis() + FALLBACK_TTL_MS;
+        String rank = tryLuckPermsCachedRank(uuid);
+        if (rank != null) return new Entry(rank, luckPermsEvents ? Long.MAX_VALUE : expiresAt);
+        rank = tryPermissionRank(player);
+        return new Entry((rank != null) ? rank : DEFAULT_RANK, expiresAt);
+    }
+
+    /**
+     * Try to obtain rank text from LuckPerms cached user (no loadUser calls).
+     * Returns "Rank: X" or null if unavailable.
+     */
+    @Nullable
+    private static String tryLuckPermsCachedRank(@Nullable UUID uuid) {
+        if (uuid == null) return null;
+        try {
+            net.luckperms.api.LuckPerms lp = net.luckperms.api.LuckPermsProvider.get();
+            if (lp == null) return null;
+            net.luckperms.api.model.user.User user = lp.getUserManager().getUser(uuid);
+            if (user == null) return null;
+            String primary = user.getPrimaryGroup();
+            if (primary == null) return null;
+            String prefix = null;
+            try {
+                if (user.getCachedData() != null && user.getCachedData().getMetaData() != null) {
+                    prefix = user.getCachedData().getMetaData().getPrefix();
+                }
+            } catch (Throwable ignored) {}
+            return rankText(primary, prefix);
+        } catch (NoClassDefFoundError ncdf) {
+            return null; // LuckPerms not installed
+        } catch (Throwable t) {
+            if (LOOKUP_FAILURE_LOGGED.compareAndSet(false, true)) {
+                LOGGER.atWarning().withCause(t).log("[RANK] Error while checking LuckPerms cached user (logged once)");
+            }
+            return null;
+        }
+    }
+
+    @Nullable
+    private static String tryPermissionRank(@Nullable Player p) {
+        if (p == null) return null;
+        for (Map.Entry<String, String> e : PERMISSION_RANK_MAP.entrySet()) {
+            final String node = e.getKey();
+            final String rankName = e.getValue();
+            try {
+                try {
+                    Method m = p.getClass().getMethod("hasPermission", String.class);
+                    Object res = m.invoke(p, node);
+                    if (res instanceof Boolean && (Boolean) res) return "Rank: " + rankName;
+                } catch (NoSuchMethodException ns) {
+                    boolean has = false;
+                    try {
+                        Method alt = p.getClass().getMethod("hasPermissions", String.class);
+                        Object r = alt.invoke(p, node);
+                        if (r instanceof Boolean) has = (Boolean) r;
+                    } catch (Throwable ignoredAlt) {}
+                    if (has) return "Rank: " + rankName;
+                }
+            } catch (Throwable ignored) {}
+        }
+        return null;
+    }
+
+    @Nonnull
+    private static String rankText(@Nullable String primary, @Nullable String prefix) {
+        if (primary == null) return DEFAULT_RANK;
+        if (prefix != null && !prefix.isBlank()) return "Rank: " + prefix + " " + primary;
+        return "Rank: " + primary;
+    }
+
+    // Reflection-based registration for LuckPerms UserDataRecalculateEvent (works without LuckPerms installed).
+    // Returns true if the listener was subscribed.
+    private boolean tryRegisterLuckPermsEventListener() {
+        try {
+            Class<?> providerClass = Class.forName("net.luckperms.api.LuckPermsProvider");
+            Method getMethod = providerClass.getMethod("get");
+            Object lpInstance = getMethod.invoke(null);
+            if (lpInstance == null) {
+                LOGGER.atInfo().log("[RANK] LuckPerms provider.get() returned null when registering event listener");
+                return false;
+            }
+
+            Method getEventBus = lpInstance.getClass().getMethod("getEventBus");
+            Object eventBus = getEventBus.invoke(lpInstance);
+            if (eventBus == null) {
+                LOGGER.atInfo().log("[RANK] LuckPerms EventBus not available");
+                return false;
+            }
+
+            Class<?> eventClass = Class.forName("net.luckperms.api.event.user.UserDataRecalculateEvent");
+
+            java.util.function.Consumer<Object> consumer = event -> {
+                try {
+                    handleUserDataRecalculateEventReflective(event);
+                } catch (Throwable t) {
+                    LOGGER.atWarning().withCause(t).log("[RANK] Error in LP event consumer");
+                }
+            };
+
+            Method subscribe = eventBus.getClass().getMethod("subscribe", Class.class, java.util.function.Consumer.class);
+            subscribe.invoke(eventBus, eventClass, consumer);
+
+            LOGGER.atInfo().log("[RANK] Registered LuckPerms UserDataRecalculateEvent listener (reflective)");
+            return true;
+        } catch (ClassNotFoundException cnf) {
+            LOGGER.atInfo().log("[RANK] LuckPerms event classes not present; skipping event registration");
+        } catch (Throwable t) {
+            LOGGER.atWarning().withCause(t).log("[RANK] Failed to register LuckPerms event listener reflectively; LuckPerms ranks will expire after %d ms", FALLBACK_TTL_MS);
+        }
+        return false;
+    }
+
+    // Reflective handler: replaces the cached rank for the recalculated user (only users we track)
+    private void handleUserDataRecalculateEventReflective(Object event) {
+        if (event == null) return;
+        try {
+            Method getUser = event.getClass().getMethod("getUser");
+            Object user = getUser.invoke(event);
+            if (user == null) return;
+
+            UUID uuid = null;
+            try {
+                Method getUniqueId = user.getClass().getMethod("getUniqueId");
+                Object idObj = getUniqueId.invoke(user);
+                if (idObj instanceof UUID) uuid = (UUID) idObj;
+            } catch (NoSuchMethodException ns) {
+                try {
+                    Method alt = user.getClass().getMethod("getUuid");
+                    Object idObj = alt.invoke(user);
+                    if (idObj instanceof UUID) uuid = (UUID) idObj;
+                } catch (Throwable ignored) {}
+            } catch (Throwable ignored) {}
+            if (uuid == null) return;
+
+            String primary = null;
+            try {
+                Method getPrimary = user.getClass().getMethod("getPrimaryGroup");
+                Object primObj = getPrimary.invoke(user);
+                if (primObj instanceof String) primary = (String) primObj;
+            } catch (Throwable ignored) {}
+
+            String prefix = null;
+            try {
+                Method getCached = user.getClass().getMethod("getCachedData");
+                Object cached = getCached.invoke(user);
+                if (cached != null) {
+                    Method getMeta = cached.getClass().getMethod("getMetaData");
+                    Object meta = getMeta.invoke(cached);
+                    if (meta != null) {
+                        Method getPrefix = meta.getClass().getMethod("getPrefix");
+                        Object prefObj = getPrefix.invoke(meta);
+                        if (prefObj instanceof String) prefix = (String) prefObj;
+                    }
+                }
+            } catch (Throwable ignored) {}
+
+            String rankText = rankText(primary, prefix);
+            Entry prev = ranks.replace(uuid, new Entry(rankText, Long.MAX_VALUE));
+            if (prev != null && !prev.text.equals(rankText)) {
+                if (DebugLog.on(DebugLog.Channel.RANK)) LOGGER.atInfo().log("[RANK] Applied LP event update for uuid=%s newRank=%s", uuid, rankText);
+                fireChanged(uuid);
+            }
+        } catch (Throwable t) {
+            LOGGER.atWarning().withCause(t).log("[RANK] Error handling UserDataRecalculateEvent reflectively");
+        }
+    }
+}
@@ -45,7 +45,8 @@ public class ScoreboardCommand extends AbstractPlayerCommand {
 
         if (hudManager.getCustomHud() instanceof ScoreboardHud) {
             // use registrar to hide so MultipleHUD will handle it if present
-            com.example.exampleplugin.darkvalehud.hud.DarkvaleHudRegistrar.hideHud(player, playerRef);
+            com.example.exampleplugin.darkvalehud.hud.DarkvaleHudRegistrar.hideHud(player, playerRef,
+                    com.example.exampleplugin.darkvalehud.hud.DarkvaleHudRegistrar.SCOREBOARD_HUD_ID);
             context.sendMessage(Message.raw("Scoreboard hidden."));
             return;
         }
@@ -59,7 +60,8 @@ public class ScoreboardCommand extends AbstractPlayerCommand {
         hud.setFooter("www.example.server");
 
         // register via registrar (MultipleHUD aware)
-        com.example.exampleplugin.darkvalehud.hud.DarkvaleHudRegistrar.showHud(player, playerRef, hud);
+        com.example.exampleplugin.darkvalehud.hud.DarkvaleHudRegistrar.showHud(player, playerRef,
+                com.example.exampleplugin.darkvalehud.hud.DarkvaleHudRegistrar.SCOREBOARD_HUD_ID, hud);
         hud.show();
         context.sendMessage(Message.raw("Scoreboard shown."));
     }
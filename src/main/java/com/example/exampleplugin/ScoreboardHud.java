@@ -1,7 +1,8 @@
 package com.example.exampleplugin;
 
+import com.example.exampleplugin.darkvalehud.hud.DeltaUIHud;
+import com.example.exampleplugin.darkvalehud.hud.HudText;
 import com.hypixel.hytale.logger.HytaleLogger;
-import com.hypixel.hytale.server.core.entity.entities.player.hud.CustomUIHud;
 import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 
@@ -10,37 +11,43 @@ import javax.annotation.Nonnull;
 /**
  * ScoreboardHud — asset-driven HUD that appends Pages/Scoreboard.ui and exposes simple setters.
  *
- * Fields are volatile to make cross-thread visibility safer; HUD writes should still be performed on the
- * player's world thread (the system will call refresh() on the world/entity tick thread).
+ * Setters only record the new text; refresh() sends the fields that changed since the last send (see
+ * DeltaUIHud). HUD sends should still be performed on the player's world thread.
  */
-public final class ScoreboardHud extends CustomUIHud {
+public final class ScoreboardHud extends DeltaUIHud {
     private static final HytaleLogger LOGGER = HytaleLogger.forEnclosingClass();
 
-    // Cached values the server maintains and sends to client
-    private volatile String serverName = "Darkvale";
-    private volatile String gold = "Gold: 0";
-    private volatile String rank = "Rank: Member";
-    private volatile String playtime = "Playtime: 0m";
-    private volatile String coords = "Coords: 0, 0, 0";
-    private volatile String footer = "www.darkvale.com";
+    // Field slots — selectors must match your Scoreboard.ui
+    private static final int SERVER_NAME = 0;
+    private static final int GOLD = 1;
+    private static final int RANK = 2;
+    private static final int PLAYTIME = 3;
+    private static final int COORDS = 4;
+    private static final int FOOTER = 5;
+
+    private final HudText.Formatter text = new HudText.Formatter();
 
     public ScoreboardHud(@Nonnull PlayerRef playerRef) {
-        super(playerRef);
+        super(playerRef,
+                "#ScoreboardRoot #ServerName.Text",
+                "#ScoreboardRoot #Gold.Text",
+                "#ScoreboardRoot #Rank.Text",
+                "#ScoreboardRoot #Playtime.Text",
+                "#ScoreboardRoot #Coords.Text",
+                "#ScoreboardRoot #Footer.Text");
+        setServerName("Darkvale");
+        setGold("Gold: 0");
+        setRank("Rank: Member");
+        setPlaytime("Playtime: 0m");
+        setCoords("Coords: 0, 0, 0");
+        setFooter("www.darkvale.com");
     }
 
     @Override
-    protected void build(@Nonnull UICommandBuilder commandBuilder) {
+    protected void buildLayout(@Nonnull UICommandBuilder commandBuilder) {
         // Append the UI asset (adjust path if you move Scoreboard.ui)
         commandBuilder.append("Pages/Scoreboard.ui");
 
-        // Populate fields — these selectors must match your Scoreboard.ui
-        commandBuilder.set("#ScoreboardRoot #ServerName.Text", serverName);
-        commandBuilder.set("#ScoreboardRoot #Gold.Text", gold);
-        commandBuilder.set("#ScoreboardRoot #Rank.Text", rank);
-        commandBuilder.set("#ScoreboardRoot #Playtime.Text", playtime);
-        commandBuilder.set("#ScoreboardRoot #Coords.Text", coords);
-        commandBuilder.set("#ScoreboardRoot #Footer.Text", footer);
-
         // Ensure root visible
         commandBuilder.set("#ScoreboardRoot.Visible", true);
     }
@@ -48,31 +55,25 @@ public final class ScoreboardHud extends CustomUIHud {
     // -------------------------
     // Setters (update server cache)
     // -------------------------
-    public void setServerName(@Nonnull String s) { this.serverName = s; }
-    public void setGold(@Nonnull String s) { this.gold = s; }
-    public void setRank(@Nonnull String s) { this.rank = s; }
-    public void setPlaytime(@Nonnull String s) { this.playtime = s; }
-    public void setCoords(@Nonnull String s) { this.coords = s; }
-    public void setFooter(@Nonnull String s) { this.footer = s; }
+    public void setServerName(@Nonnull String s) { setField(SERVER_NAME, s); }
+    public void setGold(@Nonnull String s) { setField(GOLD, s); }
+    public void setRank(@Nonnull String s) { setField(RANK, s); }
+    public void setPlaytime(@Nonnull String s) { setField(PLAYTIME, s); }
+    public void setCoords(@Nonnull String s) { setField(COORDS, s); }
+    public void setCoords(int x, int y, int z) { setField(COORDS, text.coords(x, y, z)); }
+    public void setFooter(@Nonnull String s) { setField(FOOTER, s); }
 
     /**
-     * Incremental update of the text fields. Call after modifying fields above.
+     * Incremental update of the text fields that changed since the last send; sends nothing when unchanged.
      *
      * Must be called on the player's current world thread.
      */
     public void refresh() {
-        UICommandBuilder b = new UICommandBuilder();
-        b.set("#ScoreboardRoot #ServerName.Text", serverName);
-        b.set("#ScoreboardRoot #Gold.Text", gold);
-        b.set("#ScoreboardRoot #Rank.Text", rank);
-        b.set("#ScoreboardRoot #Playtime.Text", playtime);
-        b.set("#ScoreboardRoot #Coords.Text", coords);
-        b.set("#ScoreboardRoot #Footer.Text", footer);
-
-        update(false, b);
+        pushChanges();
     }
 
     public void debugLog() {
-        LOGGER.atInfo().log("ScoreboardHud: server=%s, %s, %s, %s, %s", serverName, gold, rank, playtime, coords);
+        LOGGER.atInfo().log("ScoreboardHud: server=%s, %s, %s, %s, %s",
+                getField(SERVER_NAME), getField(GOLD), getField(RANK), getField(PLAYTIME), getField(COORDS));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,32 @@
+package com.example.exampleplugin;
+
+import com.example.exampleplugin.darkvalehud.hud.DarkvaleHudRegistrar;
+import com.example.exampleplugin.darkvalehud.hud.HudRenderer;
+import com.example.exampleplugin.darkvalehud.hud.PlayerHudPipeline;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Scoreboard HUD (ScoreboardHud): rank, playtime and coords, always visible.
+ */
+public final class ScoreboardHudRenderer implements HudRenderer<ScoreboardHud> {
+
+    @Nonnull
+    @Override
+    public String getHudId() {
+        return DarkvaleHudRegistrar.SCOREBOARD_HUD_ID;
+    }
+
+    @Nonnull
+    @Override
+    public ScoreboardHud createHud(@Nonnull PlayerHudPipeline.Frame frame) {
+        return new ScoreboardHud(frame.playerRef);
+    }
+
+    @Override
+    public void render(@Nonnull ScoreboardHud hud, @Nonnull PlayerHudPipeline.Frame frame) {
+        if (frame.positionFresh) hud.setCoords(frame.x, frame.y, frame.z);
+        if (frame.playtime != null) hud.setPlaytime(frame.playtime);
+        if (frame.rank != null) hud.setRank(frame.rank);
+    }
+}
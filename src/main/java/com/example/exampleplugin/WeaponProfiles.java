@@ -0,0 +1,115 @@
+package com.example.exampleplugin;
+
+import com.hypixel.hytale.server.core.asset.type.item.config.Item;
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-item combat classification used by lifesteal and bleed.
+ *
+ * Profiles are built lazily the first time an item id is hit with and cached by item id, so per-hit
+ * classification is a single map lookup. The cache is cleared when item assets are (re)loaded.
+ */
+public final class WeaponProfiles {
+    private WeaponProfiles() {}
+
+    private static final double DEFAULT_DAGGER_LIFESTEAL = 0.12;
+
+    // Add your item IDs here (exact match to itemStack.getItemId()).
+    private static final Map<String, Double> ITEM_LIFESTEAL_MAP;
+    static {
+        ITEM_LIFESTEAL_MAP = new HashMap<>();
+        ITEM_LIFESTEAL_MAP.put("items/dagger_basic", 0.12);
+        // ITEM_LIFESTEAL_MAP.put("items/your_dagger_id", 0.15);
+    }
+
+    /** Profile for empty hands / items without any combat effect. */
+    public static final WeaponProfile NONE = new WeaponProfile(false, 0.0, 0f, 0f);
+
+    // itemId -> profile
+    private static final Map<String, WeaponProfile> PROFILES = new ConcurrentHashMap<>();
+
+    /**
+     * Cached profile of the given stack (NONE for null/empty stacks).
+     */
+    @Nonnull
+    public static WeaponProfile get(@Nullable ItemStack stack) {
+        if (stack == null || ItemStack.isEmpty(stack)) return NONE;
+        String id;
+        try {
+            id = stack.getItemId();
+        } catch (Throwable ignored) {
+            return NONE;
+        }
+        if (id == null) return build(stack, null);
+
+        WeaponProfile profile = PROFILES.get(id);
+        if (profile == null) {
+            profile = build(stack, id);
+            PROFILES.put(id, profile);
+        }
+        return profile;
+    }
+
+    /**
+     * Drop all cached profiles (called on item asset reload).
+     */
+    public static void invalidate() {
+        PROFILES.clear();
+    }
+
+    @Nonnull
+    private static WeaponProfile build(@Nonnull ItemStack stack, @Nullable String id) {
+        boolean dagger = false;
+        try {
+            Item item = stack.getItem();
+            if (item != null) {
+                String[] cats = item.getCategories();
+                if (cats != null) {
+                    for (String c : cats) if (c != null && c.equalsIgnoreCase("Dagger")) { dagger = true; break; }
+                }
+            }
+        } catch (Throwable ignored) {}
+        if (!dagger && id != null && id.toLowerCase(Locale.ROOT).contains("dagger")) dagger = true;
+
+        double lifesteal = 0.0;
+        Double explicit = (id == null) ? null : ITEM_LIFESTEAL_MAP.get(id);
+        if (explicit != null) {
+            lifesteal = explicit;
+        } else if (dagger) {
+            lifesteal = DEFAULT_DAGGER_LIFESTEAL;
+        }
+
+        if (!dagger && lifesteal <= 0.0) return NONE;
+        return dagger
+                ? new WeaponProfile(true, lifesteal, BleedSystems.BLEED_PERCENT_PER_STACK, BleedSystems.BURST_MULTIPLIER)
+                : new WeaponProfile(false, lifesteal, 0f, 0f);
+    }
+
+    /**
+     * Immutable classification of one item id.
+     */
+    public static final class WeaponProfile {
+        public final boolean dagger;
+        public final double lifesteal;             // heal ratio of damage dealt, 0 if none
+        public final float bleedPercentPerStack;   // bleed per stack per tick, relative to the applying hit
+        public final float burstMultiplier;        // burst damage relative to the applying hit
+
+        WeaponProfile(boolean dagger, double lifesteal, float bleedPercentPerStack, float burstMultiplier) {
+            this.dagger = dagger;
+            this.lifesteal = lifesteal;
+            this.bleedPercentPerStack = bleedPercentPerStack;
+            this.burstMultiplier = burstMultiplier;
+        }
+
+        public boolean appliesBleed() {
+            return dagger;
+        }
+    }
+}
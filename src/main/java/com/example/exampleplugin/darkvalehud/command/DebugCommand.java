@@ -31,9 +31,9 @@ public class DebugCommand extends AbstractPlayerCommand {
     }
 
     protected void execute(CommandContext context, Store<EntityStore> store, Ref<EntityStore> ref, PlayerRef playerRef, World world) {
-        boolean currentState = this.debugManager.isDebugEnabled(ref);
+        boolean currentState = this.debugManager.isDebugEnabled(playerRef);
         boolean newState = !currentState;
-        this.debugManager.setDebugEnabled(ref, newState);
+        this.debugManager.setDebugEnabled(playerRef, newState);
         String statusText = newState ? "enabled" : "disabled";
         context.sendMessage(Message.raw("Debug HUD " + statusText));
     }
@@ -0,0 +1,68 @@
+package com.example.exampleplugin.darkvalehud.command;
+
+import com.example.exampleplugin.DebugLog;
+import com.example.exampleplugin.darkvalehud.data.DebugManager;
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.arguments.system.OptionalArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
+import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
+
+import javax.annotation.Nonnull;
+
+/**
+ * /debuglog [<channel|all> <on|off>] - switch hot-path debug logging per subsystem (server-wide, not saved).
+ * Without arguments lists every channel and whether it is on.
+ */
+public class DebugLogCommand extends CommandBase {
+    private final DebugManager debugManager;
+    private final OptionalArg<String> channelArg = withOptionalArg("channel", "death, loot, cleaner, spawn, bleed, rank or all", ArgTypes.STRING);
+    private final OptionalArg<String> stateArg = withOptionalArg("state", "on or off", ArgTypes.STRING);
+
+    public DebugLogCommand(DebugManager debugManager) {
+        super("debuglog", "Toggle debug logging for a plugin subsystem");
+        this.debugManager = debugManager;
+    }
+
+    @Override
+    protected void executeSync(@Nonnull CommandContext context) {
+        if (!channelArg.provided(context)) {
+            StringBuilder sb = new StringBuilder("Debug log channels:");
+            for (DebugLog.Channel c : DebugLog.Channel.values()) {
+                sb.append(' ').append(c.key()).append('=').append(this.debugManager.isLogChannelEnabled(c) ? "on" : "off");
+            }
+            context.sendMessage(Message.raw(sb.toString()));
+            return;
+        }
+        if (!stateArg.provided(context)) {
+            context.sendMessage(Message.raw("Usage: /debuglog [<channel|all> <on|off>]"));
+            return;
+        }
+        String channelName = channelArg.get(context);
+        String state = stateArg.get(context);
+
+        boolean on;
+        if ("on".equalsIgnoreCase(state)) {
+            on = true;
+        } else if ("off".equalsIgnoreCase(state)) {
+            on = false;
+        } else {
+            context.sendMessage(Message.raw("State must be on or off"));
+            return;
+        }
+
+        if ("all".equalsIgnoreCase(channelName)) {
+            for (DebugLog.Channel c : DebugLog.Channel.values()) this.debugManager.setLogChannel(c, on);
+            context.sendMessage(Message.raw("Debug logging " + (on ? "enabled" : "disabled") + " for all channels"));
+            return;
+        }
+
+        DebugLog.Channel channel = DebugLog.Channel.byKey(channelName);
+        if (channel == null) {
+            context.sendMessage(Message.raw("Unknown channel: " + channelName));
+            return;
+        }
+        this.debugManager.setLogChannel(channel, on);
+        context.sendMessage(Message.raw("Debug logging " + (on ? "enabled" : "disabled") + " for " + channel.key()));
+    }
+}
@@ -39,9 +39,9 @@ public class ScoreboardCommand extends AbstractPlayerCommand {
 
     @Override
     protected void execute(CommandContext context, Store<EntityStore> store, Ref<EntityStore> ref, PlayerRef playerRef, World world) {
-        boolean current = this.manager.isEnabled(ref);
+        boolean current = this.manager.isEnabled(playerRef);
         boolean next = !current;
-        this.manager.setEnabled(ref, next);
+        this.manager.setEnabled(playerRef, next);
         String status = next ? "enabled" : "disabled";
         context.sendMessage(Message.raw("Auto-scoreboard " + status));
     }
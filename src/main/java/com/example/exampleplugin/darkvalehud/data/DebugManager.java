@@ -1,26 +1,54 @@
 package com.example.exampleplugin.darkvalehud.data;
 
-import com.hypixel.hytale.component.Ref;
-import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.example.exampleplugin.DebugLog;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Per-player debug HUD settings, keyed by PlayerRef so they survive world transfers.
+ * Entries are only created by setDebugEnabled and are evicted when the player disconnects.
+ */
 public class DebugManager {
-    private final Map<Ref<EntityStore>, PlayerDebugSettings> playerSettings = new ConcurrentHashMap();
+    private final Map<PlayerRef, PlayerDebugSettings> playerSettings = new ConcurrentHashMap();
 
     public DebugManager() {
     }
 
-    public PlayerDebugSettings getSettings(Ref<EntityStore> ref) {
-        return ref == null ? new PlayerDebugSettings() : (PlayerDebugSettings)this.playerSettings.computeIfAbsent(ref, (k) -> new PlayerDebugSettings());
+    public PlayerDebugSettings getSettings(PlayerRef playerRef) {
+        if (playerRef == null) return new PlayerDebugSettings();
+        PlayerDebugSettings settings = this.playerSettings.get(playerRef);
+        return settings == null ? new PlayerDebugSettings() : settings;
     }
 
-    public boolean isDebugEnabled(Ref<EntityStore> ref) {
-        return this.getSettings(ref).isDebugEnabled();
+    public boolean isDebugEnabled(PlayerRef playerRef) {
+        if (playerRef == null) return false;
+        PlayerDebugSettings settings = this.playerSettings.get(playerRef);
+        return settings != null && settings.isDebugEnabled();
     }
 
-    public void setDebugEnabled(Ref<EntityStore> ref, boolean debugEnabled) {
-        this.getSettings(ref).setDebugEnabled(debugEnabled);
+    public void setDebugEnabled(PlayerRef playerRef, boolean debugEnabled) {
+        if (playerRef == null) return;
+        this.playerSettings.computeIfAbsent(playerRef, (k) -> new PlayerDebugSettings()).setDebugEnabled(debugEnabled);
+    }
+
+    /**
+     * Switch a hot-path debug log channel (server-wide, see DebugLog).
+     */
+    public void setLogChannel(DebugLog.Channel channel, boolean on) {
+        DebugLog.set(channel, on);
+    }
+
+    public boolean isLogChannelEnabled(DebugLog.Channel channel) {
+        return DebugLog.on(channel);
+    }
+
+    public void evict(PlayerRef playerRef) {
+        if (playerRef != null) this.playerSettings.remove(playerRef);
+    }
+
+    public int size() {
+        return this.playerSettings.size();
     }
 
     public void cleanup() {
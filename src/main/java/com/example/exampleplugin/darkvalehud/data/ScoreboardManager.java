@@ -1,35 +1,46 @@
 package com.example.exampleplugin.darkvalehud.data;
 
-import com.hypixel.hytale.component.Ref;
-import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Simple per-player toggle state for the scoreboard HUD.
- * Mirrors DebugManager's approach used for the Debug HUD.
+ * Mirrors DebugManager's approach used for the Debug HUD (keyed by PlayerRef, evicted on disconnect).
  */
 public class ScoreboardManager {
-    private final Map<Ref<EntityStore>, Boolean> enabled = new ConcurrentHashMap<>();
+    private final Map<PlayerRef, Boolean> enabled = new ConcurrentHashMap<>();
 
     public ScoreboardManager() {}
 
     /**
-     * Returns whether the scoreboard is enabled for the given player entity ref.
-     * Returns false if ref is null or not present.
+     * Returns whether the scoreboard is enabled for the given player.
+     * Returns false if playerRef is null or not present.
      */
-    public boolean isEnabled(Ref<EntityStore> ref) {
-        if (ref == null) return false;
-        return enabled.getOrDefault(ref, Boolean.FALSE);
+    public boolean isEnabled(PlayerRef playerRef) {
+        if (playerRef == null) return false;
+        return enabled.getOrDefault(playerRef, Boolean.FALSE);
     }
 
     /**
-     * Set enabled state for a player entity ref.
+     * Set enabled state for a player. Disabling removes the entry (absent == disabled).
      */
-    public void setEnabled(Ref<EntityStore> ref, boolean on) {
-        if (ref == null) return;
-        enabled.put(ref, on);
+    public void setEnabled(PlayerRef playerRef, boolean on) {
+        if (playerRef == null) return;
+        if (on) enabled.put(playerRef, Boolean.TRUE);
+        else enabled.remove(playerRef);
+    }
+
+    /**
+     * Forget the player's state (called on disconnect).
+     */
+    public void evict(PlayerRef playerRef) {
+        if (playerRef != null) enabled.remove(playerRef);
+    }
+
+    public int size() {
+        return enabled.size();
     }
 
     /**
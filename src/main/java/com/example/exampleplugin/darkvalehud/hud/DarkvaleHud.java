@@ -1,12 +1,8 @@
 package com.example.exampleplugin.darkvalehud.hud;
 
-import com.hypixel.hytale.component.Ref;
-import com.hypixel.hytale.server.core.entity.entities.player.hud.CustomUIHud;
 import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
-import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.example.exampleplugin.darkvalehud.data.DebugManager;
-import com.example.exampleplugin.darkvalehud.data.PlayerDebugSettings;
 
 import javax.annotation.Nonnull;
 
@@ -15,82 +11,105 @@ import javax.annotation.Nonnull;
  *
  * Keeps the original setPosition API (posX/posY/posZ) so the tick system can continue to call it.
  * build() writes to the original DarkvaleHud UI labels (TitleLabel, PosXLabel, PosYLabel, PosZLabel,
- * ChunkLabel, BiomeLabel, HealthLabel, StaminaLabel, ManaLabel).
+ * ChunkLabel, BiomeLabel, HealthLabel, StaminaLabel, ManaLabel); afterwards pushChanges() only sends the
+ * labels whose text changed (see DeltaUIHud).
  */
-public class DarkvaleHud extends CustomUIHud {
-    private final DebugManager debugManager;
-    private final Ref<EntityStore> playerEntityRef;
-
-    // Position fields (original DarkvaleHud pattern)
-    private int posX = 0;
-    private int posY = 0;
-    private int posZ = 0;
-    private int chunkX = 0;
-    private int chunkZ = 0;
-
-    // Biome (original)
-    private String biomeName = "Unknown";
+public class DarkvaleHud extends DeltaUIHud {
+    // Label slots
+    private static final int TITLE = 0;
+    private static final int POS_X = 1;
+    private static final int POS_Y = 2;
+    private static final int POS_Z = 3;
+    private static final int CHUNK = 4;
+    private static final int BIOME = 5;
+    private static final int RANK = 6;      // HealthLabel shows Rank
+    private static final int PLAYTIME = 7;  // StaminaLabel shows Playtime
+    private static final int FOOTER = 8;    // ManaLabel used as footer location
+
+    // shared label caches for the usual coordinate range
+    private static final HudText.IntLabel POS_X_TEXT = new HudText.IntLabel("X: ", 2048);
+    private static final HudText.IntLabel POS_Y_TEXT = new HudText.IntLabel("Y: ", 2048);
+    private static final HudText.IntLabel POS_Z_TEXT = new HudText.IntLabel("Z: ", 2048);
 
-    // Server / scoreboard fields
-    private volatile String serverName = "Darkvale";
-    private volatile String rankText = "Rank: Member";
-    private volatile String playtimeText = "Playtime: 0m";
-    private volatile String footer = "www.darkvale.com";
-
-    public DarkvaleHud(PlayerRef playerRef, DebugManager debugManager, Ref<EntityStore> playerEntityRef) {
-        super(playerRef);
+    private final DebugManager debugManager;
+    private final PlayerRef playerRef;
+
+    // Position fields (original DarkvaleHud pattern); label text is only rebuilt when a value changes
+    private int posX = Integer.MIN_VALUE;
+    private int posY = Integer.MIN_VALUE;
+    private int posZ = Integer.MIN_VALUE;
+    private int chunkX = Integer.MIN_VALUE;
+    private int chunkZ = Integer.MIN_VALUE;
+    private final HudText.Formatter text = new HudText.Formatter();
+
+    // Biome name the label currently shows
+    private String biomeName;
+
+    public DarkvaleHud(PlayerRef playerRef, DebugManager debugManager) {
+        super(playerRef,
+                "#TitleLabel.Text",
+                "#PosXLabel.Text",
+                "#PosYLabel.Text",
+                "#PosZLabel.Text",
+                "#ChunkLabel.Text",
+                "#BiomeLabel.Text",
+                "#HealthLabel.Text",
+                "#StaminaLabel.Text",
+                "#ManaLabel.Text");
         this.debugManager = debugManager;
-        this.playerEntityRef = playerEntityRef;
+        this.playerRef = playerRef;
+        setServerName("Darkvale");
+        setPosition(0, 0, 0);
+        setBiomeName("Unknown");
+        setRank("Rank: Member");
+        setPlaytime("Playtime: 0m");
+        setFooter("www.darkvale.com");
     }
 
     // Preserve original API: update integer position fields
     public void setPosition(int x, int y, int z) {
-        this.posX = x;
-        this.posY = y;
-        this.posZ = z;
-        this.chunkX = x >> 4;
-        this.chunkZ = z >> 4;
+        if (x != this.posX) { this.posX = x; setField(POS_X, POS_X_TEXT.of(x)); }
+        if (y != this.posY) { this.posY = y; setField(POS_Y, POS_Y_TEXT.of(y)); }
+        if (z != this.posZ) { this.posZ = z; setField(POS_Z, POS_Z_TEXT.of(z)); }
+        int cx = x >> 4;
+        int cz = z >> 4;
+        if (cx != this.chunkX || cz != this.chunkZ) {
+            this.chunkX = cx;
+            this.chunkZ = cz;
+            setField(CHUNK, text.chunk(cx, cz));
+        }
     }
 
     public void setBiomeName(String biomeName) {
-        this.biomeName = biomeName != null ? biomeName : "Unknown";
+        if (biomeName == null) biomeName = "Unknown";
+        if (biomeName.equals(this.biomeName)) return;
+        this.biomeName = biomeName;
+        setField(BIOME, "Biome: " + biomeName);
     }
 
     // Scoreboard setters (mapped into existing labels)
-    public void setServerName(@Nonnull String s) { this.serverName = (s == null) ? "" : s; }
-    public void setRank(@Nonnull String r) { this.rankText = (r == null) ? "" : r; }
-    public void setPlaytime(@Nonnull String p) { this.playtimeText = (p == null) ? "" : p; }
-    public void setFooter(@Nonnull String f) { this.footer = (f == null) ? "" : f; }
+    public void setServerName(@Nonnull String s) { setField(TITLE, s); }
+    public void setRank(@Nonnull String r) { setField(RANK, r); }
+    public void setPlaytime(@Nonnull String p) { setField(PLAYTIME, p); }
+    public void setFooter(@Nonnull String f) { setField(FOOTER, f); }
 
     public boolean isDebugEnabled() {
-        PlayerDebugSettings settings = this.debugManager.getSettings(this.playerEntityRef);
-        return settings.isDebugEnabled();
+        return this.debugManager.isDebugEnabled(this.playerRef);
     }
 
     @Override
-    protected void build(UICommandBuilder builder) {
-        PlayerDebugSettings settings = this.debugManager.getSettings(this.playerEntityRef);
+    protected boolean isContentVisible() {
+        return isDebugEnabled();
+    }
 
+    @Override
+    protected void buildLayout(@Nonnull UICommandBuilder builder) {
         // Append the DarkvaleHud UI asset
         builder.append("Hud/SimpleDebugInfoHud/DarkvaleHud.ui");
 
-        if (!settings.isDebugEnabled()) {
+        if (!isDebugEnabled()) {
             // When disabled, clear header and do not show contents
             builder.set("#TitleLabel.Text", "");
-            return;
         }
-
-        // Map values to the UI labels
-        builder.set("#TitleLabel.Text", this.serverName); // header
-        builder.set("#PosXLabel.Text", "X: " + this.posX);
-        builder.set("#PosYLabel.Text", "Y: " + this.posY);
-        builder.set("#PosZLabel.Text", "Z: " + this.posZ);
-        builder.set("#ChunkLabel.Text", "Chunk: " + this.chunkX + ", " + this.chunkZ);
-        builder.set("#BiomeLabel.Text", "Biome: " + this.biomeName);
-
-        // Map scoreboard fields into the lower labels:
-        builder.set("#HealthLabel.Text", this.rankText);      // show Rank here
-        builder.set("#StaminaLabel.Text", this.playtimeText); // show Playtime here
-        builder.set("#ManaLabel.Text", this.footer);          // use ManaLabel as footer location
     }
 }
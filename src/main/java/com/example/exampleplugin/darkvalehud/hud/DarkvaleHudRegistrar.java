@@ -1,20 +1,20 @@
 package com.example.exampleplugin.darkvalehud.hud;
 
-import com.buuz135.mhud.MultipleHUD;
 import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.entity.entities.player.hud.CustomUIHud;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 
 /**
- * Registrar that uses MultipleHUD directly at compile-time.
- * Requires MHUD on the classpath (compile-time and runtime).
+ * Registrar that shows/hides HUDs through the HudBackend resolved at startup (MultipleHUD when installed,
+ * otherwise the player's HudManager).
  *
- * Calls:
+ * Calls (MultipleHUD backend):
  *  MultipleHUD.getInstance().setCustomHud(player, playerRef, hudId, hud);
  *  MultipleHUD.getInstance().hideCustomHud(player, playerRef, hudId);
  */
 public final class DarkvaleHudRegistrar {
     public static final String HUD_ID = "DarkvaleHud";
+    public static final String SCOREBOARD_HUD_ID = "DarkvaleScoreboard";
 
     private DarkvaleHudRegistrar() {}
 
@@ -23,14 +23,23 @@ public final class DarkvaleHudRegistrar {
      * If MultipleHUD is missing or throws, falls back to player's HudManager (best-effort).
      */
     public static void showHud(Player player, PlayerRef playerRef, CustomUIHud hud) {
+        showHud(player, playerRef, HUD_ID, hud);
+    }
+
+    /**
+     * Register/show the given HUD under its own MultipleHUD id, so several HUDs can be shown side by side.
+     */
+    public static void showHud(Player player, PlayerRef playerRef, String hudId, CustomUIHud hud) {
+        HudBackend backend = HudBackend.get();
         try {
-            MultipleHUD.getInstance().setCustomHud(player, playerRef, HUD_ID, hud);
+            if (hud instanceof DeltaUIHud) ((DeltaUIHud) hud).setSelectorPrefix(backend.selectorPrefix(hudId));
+            backend.show(player, playerRef, hudId, hud);
         } catch (Throwable t) {
             // Fallback: best-effort to player's hud manager
             t.printStackTrace();
             try {
-                var hm = player.getHudManager();
-                if (hm != null) hm.setCustomHud(playerRef, hud);
+                if (hud instanceof DeltaUIHud) ((DeltaUIHud) hud).setSelectorPrefix("");
+                HudBackend.HudManagerBackend.setCustomHud(player, playerRef, hud);
             } catch (Throwable ignored) {}
         }
     }
@@ -40,14 +49,20 @@ public final class DarkvaleHudRegistrar {
      * If MultipleHUD is missing or throws, falls back to player's HudManager (best-effort).
      */
     public static void hideHud(Player player, PlayerRef playerRef) {
+        hideHud(player, playerRef, HUD_ID);
+    }
+
+    /**
+     * Hide/unregister the HUD registered under the given MultipleHUD id.
+     */
+    public static void hideHud(Player player, PlayerRef playerRef, String hudId) {
         try {
-            MultipleHUD.getInstance().hideCustomHud(player, playerRef, HUD_ID);
+            HudBackend.get().hide(player, playerRef, hudId);
         } catch (Throwable t) {
             t.printStackTrace();
             try {
-                var hm = player.getHudManager();
-                if (hm != null) hm.setCustomHud(playerRef, null);
+                HudBackend.HudManagerBackend.setCustomHud(player, playerRef, null);
             } catch (Throwable ignored) {}
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,45 @@
+package com.example.exampleplugin.darkvalehud.hud;
+
+import com.example.exampleplugin.darkvalehud.data.DebugManager;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Debug info HUD (DarkvaleHud): position, chunk, biome, rank and playtime; shown while /debug is enabled.
+ */
+public final class DebugInfoHudRenderer implements HudRenderer<DarkvaleHud> {
+    private final DebugManager debugManager;
+
+    public DebugInfoHudRenderer(DebugManager debugManager) {
+        this.debugManager = debugManager;
+    }
+
+    @Nonnull
+    @Override
+    public String getHudId() {
+        return DarkvaleHudRegistrar.HUD_ID;
+    }
+
+    @Nonnull
+    @Override
+    public DarkvaleHud createHud(@Nonnull PlayerHudPipeline.Frame frame) {
+        return new DarkvaleHud(frame.playerRef, this.debugManager);
+    }
+
+    @Nonnull
+    @Override
+    public Object layoutKey(@Nonnull DarkvaleHud hud, @Nonnull PlayerHudPipeline.Frame frame) {
+        // build() hides the contents while debug is off, so a toggle needs a full rebuild
+        return this.debugManager.isDebugEnabled(frame.playerRef);
+    }
+
+    @Override
+    public void render(@Nonnull DarkvaleHud hud, @Nonnull PlayerHudPipeline.Frame frame) {
+        if (!this.debugManager.isDebugEnabled(frame.playerRef)) return; // build() hid the contents; nothing to update
+
+        if (frame.positionFresh) hud.setPosition(frame.x, frame.y, frame.z);
+        if (frame.playtime != null) hud.setPlaytime(frame.playtime);
+        if (frame.rank != null) hud.setRank(frame.rank);
+        if (frame.biome != null) hud.setBiomeName(frame.biome);
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.exampleplugin.darkvalehud.hud;
+
+import com.hypixel.hytale.server.core.entity.entities.player.hud.CustomUIHud;
+import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+
+/**
+ * DeltaUIHud — base for text HUDs that are built once and then updated field by field.
+ *
+ * Subclasses declare one selector per field (e.g. "#TitleLabel.Text") and call setField(); the base remembers
+ * what the client last received. build() sends every field (full rebuild), pushChanges() sends only the fields
+ * that differ from the last send via update(false, ...) and sends nothing at all when nothing changed.
+ *
+ * When the HUD is hosted inside MultipleHUD its elements live under the wrapper's root, so the registrar sets
+ * a selector prefix that is applied to delta updates (full builds are prefixed by the wrapper itself).
+ */
+public abstract class DeltaUIHud extends CustomUIHud {
+    private final String[] selectors;
+    private final String[] values;
+    private final String[] sent;
+    private long dirtyMask;       // bit i set = values[i] differs from sent[i]
+    private boolean built;        // client has the layout; deltas are meaningless before the first build
+    private volatile String selectorPrefix = "";
+    private Object layoutKey;     // layout the client was last asked to build (null = full rebuild needed)
+
+    protected DeltaUIHud(@Nonnull PlayerRef playerRef, @Nonnull String... selectors) {
+        super(playerRef);
+        if (selectors.length > 64) throw new IllegalArgumentException("DeltaUIHud supports at most 64 fields");
+        this.selectors = selectors.clone();
+        this.values = new String[selectors.length];
+        this.sent = new String[selectors.length];
+        Arrays.fill(this.values, "");
+    }
+
+    /**
+     * Append the UI asset and any static commands. Field values are written by the base class.
+     */
+    protected abstract void buildLayout(@Nonnull UICommandBuilder builder);
+
+    /**
+     * Whether build() should write the field values. Subclasses that render an empty layout return false.
+     */
+    protected boolean isContentVisible() {
+        return true;
+    }
+
+    /**
+     * Prefix applied to selectors in delta updates ("" when the HUD is the player's only custom HUD).
+     */
+    public void setSelectorPrefix(@Nullable String prefix) {
+        this.selectorPrefix = (prefix == null) ? "" : prefix;
+    }
+
+    /**
+     * Record the layout the HUD should currently have (e.g. debug on/off).
+     *
+     * @return true if the layout must be rebuilt (first show, layout change, or after invalidateLayout())
+     */
+    public boolean syncLayout(@Nonnull Object key) {
+        if (key.equals(layoutKey)) return false;
+        layoutKey = key;
+        return true;
+    }
+
+    /**
+     * Force a full rebuild on the next syncLayout() (e.g. after a world transfer).
+     */
+    public void invalidateLayout() {
+        layoutKey = null;
+    }
+
+    protected final synchronized void setField(int slot, @Nullable String value) {
+        if (value == null) value = "";
+        if (value.equals(values[slot])) return;
+        values[slot] = value;
+        if (value.equals(sent[slot])) {
+            dirtyMask &= ~(1L << slot);
+        } else {
+            dirtyMask |= 1L << slot;
+        }
+    }
+
+    @Nonnull
+    protected final synchronized String getField(int slot) {
+        return values[slot];
+    }
+
+    @Override
+    protected final void build(@Nonnull UICommandBuilder builder) {
+        buildLayout(builder);
+        synchronized (this) {
+            if (isContentVisible()) {
+                for (int i = 0; i < selectors.length; i++) {
+                    builder.set(selectors[i], values[i]);
+                    sent[i] = values[i];
+                }
+                dirtyMask = 0L;
+            } else {
+                // nothing was written; everything is dirty for the next visible build
+                Arrays.fill(sent, null);
+                dirtyMask = (selectors.length == 64) ? -1L : (1L << selectors.length) - 1L;
+            }
+            built = true;
+        }
+    }
+
+    /**
+     * Send only the fields that changed since the last send. Must be called on the player's world thread.
+     *
+     * @return true if a packet was sent
+     */
+    public boolean pushChanges() {
+        UICommandBuilder b;
+        synchronized (this) {
+            if (!built || dirtyMask == 0L || !isContentVisible()) return false;
+            String prefix = selectorPrefix;
+            b = new UICommandBuilder();
+            long mask = dirtyMask;
+            while (mask != 0L) {
+                int i = Long.numberOfTrailingZeros(mask);
+                mask &= mask - 1L;
+                b.set(prefix + selectors[i], values[i]);
+                sent[i] = values[i];
+            }
+            dirtyMask = 0L;
+        }
+        update(false, b);
+        return true;
+    }
+}
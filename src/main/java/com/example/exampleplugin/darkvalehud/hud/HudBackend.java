@@ -0,0 +1,125 @@
+package com.example.exampleplugin.darkvalehud.hud;
+
+import com.buuz135.mhud.MultipleHUD;
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.entity.entities.player.hud.CustomUIHud;
+import com.hypixel.hytale.server.core.entity.entities.player.hud.HudManager;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * HudBackend — how custom HUDs reach the player, resolved once.
+ *
+ * - MultipleHudBackend: direct (compile-time) calls into MultipleHUD; several HUDs per player, each under its id
+ * - HudManagerBackend: the player's own HudManager; one custom HUD per player
+ *
+ * The choice is made the first time get() is called by probing for the MultipleHUD class once; the
+ * MultipleHUD-linked class is only loaded when MultipleHUD is actually installed.
+ */
+public abstract class HudBackend {
+
+    private static final class Holder {
+        static final HudBackend INSTANCE = resolve();
+    }
+
+    @Nonnull
+    public static HudBackend get() {
+        return Holder.INSTANCE;
+    }
+
+    private static HudBackend resolve() {
+        try {
+            Class.forName("com.buuz135.mhud.MultipleHUD", false, HudBackend.class.getClassLoader());
+            return new MultipleHudBackend();
+        } catch (Throwable t) {
+            return new HudManagerBackend();
+        }
+    }
+
+    /**
+     * True if several HUDs (one per id) can be shown to a player at the same time.
+     */
+    public abstract boolean supportsMultipleHuds();
+
+    public abstract void show(@Nonnull Player player, @Nonnull PlayerRef playerRef, @Nonnull String hudId, @Nonnull CustomUIHud hud);
+
+    public abstract void hide(@Nonnull Player player, @Nonnull PlayerRef playerRef, @Nonnull String hudId);
+
+    /**
+     * Full rebuild of what the player sees for the given HUD (with MultipleHUD: all of the player's HUDs).
+     * Must be called on the player's world thread.
+     */
+    public abstract void rebuild(@Nonnull Player player, @Nonnull CustomUIHud hud);
+
+    /**
+     * Selector prefix the backend puts in front of a hosted HUD's elements ("" when hosted directly).
+     */
+    @Nonnull
+    public abstract String selectorPrefix(@Nonnull String hudId);
+
+    static final class MultipleHudBackend extends HudBackend {
+        @Override
+        public boolean supportsMultipleHuds() {
+            return true;
+        }
+
+        @Override
+        public void show(@Nonnull Player player, @Nonnull PlayerRef playerRef, @Nonnull String hudId, @Nonnull CustomUIHud hud) {
+            MultipleHUD.getInstance().setCustomHud(player, playerRef, hudId, hud);
+        }
+
+        @Override
+        public void hide(@Nonnull Player player, @Nonnull PlayerRef playerRef, @Nonnull String hudId) {
+            MultipleHUD.getInstance().hideCustomHud(player, playerRef, hudId);
+        }
+
+        @Override
+        public void rebuild(@Nonnull Player player, @Nonnull CustomUIHud hud) {
+            // the wrapper is the player's custom HUD; its show() rebuilds every hosted HUD
+            HudManager hm = player.getHudManager();
+            CustomUIHud wrapper = (hm != null) ? hm.getCustomHud() : null;
+            if (wrapper != null) wrapper.show();
+        }
+
+        @Nonnull
+        @Override
+        public String selectorPrefix(@Nonnull String hudId) {
+            return "#MultipleHUD #" + hudId.replaceAll("[^a-zA-Z0-9]", "") + " ";
+        }
+    }
+
+    static final class HudManagerBackend extends HudBackend {
+        @Override
+        public boolean supportsMultipleHuds() {
+            return false;
+        }
+
+        @Override
+        public void show(@Nonnull Player player, @Nonnull PlayerRef playerRef, @Nonnull String hudId, @Nonnull CustomUIHud hud) {
+            setCustomHud(player, playerRef, hud);
+        }
+
+        @Override
+        public void hide(@Nonnull Player player, @Nonnull PlayerRef playerRef, @Nonnull String hudId) {
+            setCustomHud(player, playerRef, null);
+        }
+
+        @Override
+        public void rebuild(@Nonnull Player player, @Nonnull CustomUIHud hud) {
+            hud.show();
+        }
+
+        @Nonnull
+        @Override
+        public String selectorPrefix(@Nonnull String hudId) {
+            return "";
+        }
+
+        static void setCustomHud(Player player, PlayerRef playerRef, @Nullable CustomUIHud hud) {
+            HudManager hm = player.getHudManager();
+            if (hm != null) hm.setCustomHud(playerRef, hud);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.exampleplugin.darkvalehud.hud;
+
+import javax.annotation.Nonnull;
+
+/**
+ * HudRefreshScheduler — decides which HUD fields are recomputed on a given tick.
+ *
+ * Each field has its own refresh interval (coords several times a second, playtime once a minute, rank only on
+ * change events). Every player gets a Tracker with a per-player phase offset derived from its key, so
+ * players whose fields share an interval come due on different ticks and the HUD work is spread out instead
+ * of landing on every player in the same tick.
+ *
+ * An interval of 0 means "event driven": the field is only refreshed after markDirty()/forceAll().
+ */
+public final class HudRefreshScheduler {
+
+    public enum Field {
+        COORDS(250L),       // 4 Hz
+        BIOME(1_000L),
+        PLAYTIME(60_000L),  // minute resolution is all the HUD shows
+        RANK(0L);           // event driven: PlayerHudPipeline marks it dirty on RankCache changes
+
+        final long defaultIntervalMs;
+
+        Field(long defaultIntervalMs) {
+            this.defaultIntervalMs = defaultIntervalMs;
+        }
+    }
+
+    private static final Field[] FIELDS = Field.values();
+
+    private final long[] intervalsMs = new long[FIELDS.length];
+
+    public HudRefreshScheduler() {
+        for (Field f : FIELDS) intervalsMs[f.ordinal()] = f.defaultIntervalMs;
+    }
+
+    /**
+     * Override the refresh interval of a field (ms, 0 = event driven only).
+     */
+    public HudRefreshScheduler withInterval(@Nonnull Field field, long intervalMs) {
+        intervalsMs[field.ordinal()] = Math.max(0L, intervalMs);
+        return this;
+    }
+
+    public long getInterval(@Nonnull Field field) {
+        return intervalsMs[field.ordinal()];
+    }
+
+    /**
+     * New per-player tracker. All fields start due so the first tick populates the whole HUD.
+     */
+    @Nonnull
+    public Tracker newTracker(@Nonnull Object key) {
+        return new Tracker(mix(key.hashCode()));
+    }
+
+    /**
+     * Per-player refresh state. Only touched from the player's world thread.
+     */
+    public final class Tracker {
+        private final long phase;     // non-negative, spread over the full long range
+        private final long[] lastSlot = new long[FIELDS.length];
+        private int forcedMask;       // bit per field: due on the next check regardless of interval
+
+        private Tracker(long phase) {
+            this.phase = phase;
+            forceAll();
+        }
+
+        /**
+         * True if the field should be recomputed now. Consumes a pending markDirty()/forceAll() for the field.
+         */
+        public boolean isDue(@Nonnull Field field, long nowMs) {
+            int i = field.ordinal();
+            long interval = intervalsMs[i];
+            boolean forced = (forcedMask & (1 << i)) != 0;
+            if (interval <= 0L) {
+                if (forced) forcedMask &= ~(1 << i);
+                return forced;
+            }
+            // time slots of length 'interval', shifted by this player's phase
+            long slot = Math.floorDiv(nowMs + (phase % interval), interval);
+            if (!forced && slot == lastSlot[i]) return false;
+            lastSlot[i] = slot;
+            forcedMask &= ~(1 << i);
+            return true;
+        }
+
+        /**
+         * Refresh the field on the next check (e.g. a rank change event).
+         */
+        public void markDirty(@Nonnull Field field) {
+            forcedMask |= 1 << field.ordinal();
+        }
+
+        /**
+         * Refresh every field on the next check (first show, rebuild, world transfer).
+         */
+        public void forceAll() {
+            forcedMask = (1 << FIELDS.length) - 1;
+        }
+    }
+
+    private static long mix(int h) {
+        long z = h * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 32)) * 0xD6E8FEEB86659FD9L;
+        return (z ^ (z >>> 32)) & Long.MAX_VALUE;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.exampleplugin.darkvalehud.hud;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * One HUD fed by PlayerHudPipeline (scoreboard, debug info, ...).
+ *
+ * The pipeline owns the per-player state and gathers it once per tick into a Frame; a renderer only creates
+ * its HUD and copies the frame's fresh values into it. Sending is left to the pipeline (DeltaUIHud deltas).
+ */
+public interface HudRenderer<H extends DeltaUIHud> {
+
+    /**
+     * MultipleHUD id of this renderer's HUD; must be distinct per renderer.
+     */
+    @Nonnull
+    String getHudId();
+
+    @Nonnull
+    H createHud(@Nonnull PlayerHudPipeline.Frame frame);
+
+    /**
+     * Layout the HUD should currently have; whenever it changes the HUD is fully rebuilt.
+     */
+    @Nonnull
+    default Object layoutKey(@Nonnull H hud, @Nonnull PlayerHudPipeline.Frame frame) {
+        return Boolean.TRUE;
+    }
+
+    /**
+     * The player moved to a new entity (world transfer). Called before the HUD is rebuilt.
+     */
+    default void onTransfer(@Nonnull H hud, @Nullable Ref<EntityStore> previousRef, @Nonnull PlayerHudPipeline.Frame frame) {
+    }
+
+    /**
+     * Copy the frame's fresh values (non-null / flagged fields) into the HUD.
+     */
+    void render(@Nonnull H hud, @Nonnull PlayerHudPipeline.Frame frame);
+}
@@ -0,0 +1,115 @@
+package com.example.exampleplugin.darkvalehud.hud;
+
+import javax.annotation.Nonnull;
+
+/**
+ * HudText — allocation-light formatting for HUD labels.
+ *
+ * - playtime(): shared cache of "Playtime: Xh Ym" strings per total minute, so a player's label only costs
+ *   an array lookup, and a new String only exists the first time any player reaches that minute.
+ * - IntLabel: "<prefix><n>" strings, cached for the common value range (e.g. "X: 120").
+ * - Formatter: per-HUD StringBuilder reuse with last-value caching for multi-value labels (coords, chunk);
+ *   the same String instance is returned until the displayed value changes.
+ *
+ * Caches are filled lazily; races only ever store equal strings, so no locking is needed.
+ */
+public final class HudText {
+    private HudText() {}
+
+    // one week of minutes; longer playtimes are formatted on demand
+    private static final int PLAYTIME_CACHE_MINUTES = 7 * 24 * 60;
+    private static final String[] PLAYTIME_CACHE = new String[PLAYTIME_CACHE_MINUTES];
+
+    /**
+     * "Playtime: 1h 5m" / "Playtime: 5m" for the given total.
+     */
+    @Nonnull
+    public static String playtime(long totalMillis) {
+        long totalMinutes = Math.max(0L, totalMillis) / 60_000L;
+        if (totalMinutes < PLAYTIME_CACHE_MINUTES) {
+            int m = (int) totalMinutes;
+            String s = PLAYTIME_CACHE[m];
+            if (s == null) {
+                s = formatPlaytime(totalMinutes);
+                PLAYTIME_CACHE[m] = s;
+            }
+            return s;
+        }
+        return formatPlaytime(totalMinutes);
+    }
+
+    private static String formatPlaytime(long totalMinutes) {
+        long hours = totalMinutes / 60L;
+        long minutes = totalMinutes % 60L;
+        StringBuilder sb = new StringBuilder(24).append("Playtime: ");
+        if (hours > 0) sb.append(hours).append("h ");
+        return sb.append(minutes).append('m').toString();
+    }
+
+    /**
+     * "<prefix><value>" labels with a shared cache for values in [-range, range).
+     */
+    public static final class IntLabel {
+        private final String prefix;
+        private final int range;
+        private final String[] cache;
+
+        public IntLabel(@Nonnull String prefix, int range) {
+            this.prefix = prefix;
+            this.range = range;
+            this.cache = new String[range * 2];
+        }
+
+        @Nonnull
+        public String of(int value) {
+            if (value < -range || value >= range) return prefix + value;
+            int i = value + range;
+            String s = cache[i];
+            if (s == null) {
+                s = prefix + value;
+                cache[i] = s;
+            }
+            return s;
+        }
+    }
+
+    /**
+     * Per-HUD formatter. Not thread-safe; owned by one HUD and used from its world thread.
+     */
+    public static final class Formatter {
+        private final StringBuilder sb = new StringBuilder(32);
+
+        private int coordsX, coordsY, coordsZ;
+        private String coords;
+
+        private int chunkX, chunkZ;
+        private String chunk;
+
+        /**
+         * "Coords: x, y, z"; returns the previous instance when unchanged.
+         */
+        @Nonnull
+        public String coords(int x, int y, int z) {
+            if (coords != null && x == coordsX && y == coordsY && z == coordsZ) return coords;
+            coordsX = x;
+            coordsY = y;
+            coordsZ = z;
+            sb.setLength(0);
+            sb.append("Coords: ").append(x).append(", ").append(y).append(", ").append(z);
+            return coords = sb.toString();
+        }
+
+        /**
+         * "Chunk: cx, cz"; returns the previous instance when unchanged.
+         */
+        @Nonnull
+        public String chunk(int cx, int cz) {
+            if (chunk != null && cx == chunkX && cz == chunkZ) return chunk;
+            chunkX = cx;
+            chunkZ = cz;
+            sb.setLength(0);
+            sb.append("Chunk: ").append(cx).append(", ").append(cz);
+            return chunk = sb.toString();
+        }
+    }
+}
@@ -0,0 +1,389 @@
+package com.example.exampleplugin.darkvalehud.hud;
+
+import com.example.exampleplugin.PerfMetrics;
+import com.example.exampleplugin.PlaytimeService;
+import com.example.exampleplugin.RankCache;
+import com.hypixel.hytale.component.ArchetypeChunk;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.system.tick.EntityTickingSystem;
+import com.hypixel.hytale.math.util.MathUtil;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.entity.UUIDComponent;
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.WorldMapTracker;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * PlayerHudPipeline — the single per-player presentation system feeding every HUD (scoreboard, debug info).
+ *
+ * - Keeps one state entry per PlayerRef (entity ref, uuid, refresh tracker, one HUD per renderer)
+ * - Detects removal and world transfer once, for all HUDs
+ * - Gathers the fields that are due this tick (HudRefreshScheduler) into a Frame once and hands it to every
+ *   HudRenderer; each HUD then sends only its changed labels (DeltaUIHud)
+ * - Full rebuilds only on first show, layout change (e.g. debug toggle) and transfer; with MultipleHUD one
+ *   wrapper.show() rebuilds all HUDs of the player
+ *
+ * Without MultipleHUD a player can only have one custom HUD, so only the first renderer is driven.
+ */
+public class PlayerHudPipeline extends EntityTickingSystem<EntityStore> {
+
+    /**
+     * Per-player values gathered once per tick. Fields that were not due this tick are null / not fresh.
+     * Only valid for the duration of the render call.
+     */
+    public static final class Frame {
+        public PlayerRef playerRef;
+        public Player player;
+        public Ref<EntityStore> ref;
+        @Nullable public UUID uuid;
+
+        public boolean positionFresh;
+        public int x, y, z;
+        @Nullable public String playtime;
+        @Nullable public String rank;
+        @Nullable public String biome;
+
+        void clear() {
+            playerRef = null;
+            player = null;
+            ref = null;
+            uuid = null;
+            positionFresh = false;
+            playtime = null;
+            rank = null;
+            biome = null;
+        }
+    }
+
+    private static final class PlayerState {
+        Ref<EntityStore> ref;
+        UUID uuid;
+        // set by RankCache change events (any thread), turned into tracker.markDirty(RANK) on the next tick
+        volatile boolean rankDirty;
+        final HudRefreshScheduler.Tracker tracker;
+        final Slot<?>[] slots;
+
+        PlayerState(HudRefreshScheduler.Tracker tracker, Slot<?>[] slots) {
+            this.tracker = tracker;
+            this.slots = slots;
+        }
+    }
+
+    // one renderer's HUD for one player
+    private static final class Slot<H extends DeltaUIHud> {
+        final HudRenderer<H> renderer;
+        H hud;
+
+        Slot(HudRenderer<H> renderer) {
+            this.renderer = renderer;
+        }
+
+        void attach(Frame f) {
+            hud = renderer.createHud(f);
+            try {
+                // register via registrar that calls MultipleHUD (compile-time)
+                DarkvaleHudRegistrar.showHud(f.player, f.playerRef, renderer.getHudId(), hud);
+            } catch (Throwable ignored) {}
+        }
+
+        void onTransfer(@Nullable Ref<EntityStore> previousRef, Frame f) {
+            hud.invalidateLayout();
+            renderer.onTransfer(hud, previousRef, f);
+        }
+
+        boolean syncLayout(Frame f) {
+            return hud.syncLayout(renderer.layoutKey(hud, f));
+        }
+
+        void render(Frame f) {
+            renderer.render(hud, f);
+            // only labels whose text changed; nothing when the HUD is unchanged
+            hud.pushChanges();
+        }
+
+        void detach(Player p, PlayerRef playerRef) {
+            DarkvaleHudRegistrar.hideHud(p, playerRef, renderer.getHudId());
+        }
+    }
+
+    // world threads tick in parallel; one scratch frame per thread
+    private static final ThreadLocal<Frame> FRAME = ThreadLocal.withInitial(Frame::new);
+
+    private static final PerfMetrics.Section PERF = PerfMetrics.section("PlayerHudPipeline");
+
+    private final Query<EntityStore> query;
+    private final HudRenderer<?>[] renderers;
+    private final PlaytimeService playtimeService;
+    private final RankCache rankCache;
+    private final HudRefreshScheduler refreshScheduler;
+
+    private final Map<PlayerRef, PlayerState> players = new ConcurrentHashMap<>();
+
+    // internal biome name -> display name (formatBiomeName() is a handful of replace/split calls)
+    private final Map<String, String> biomeDisplayNames = new ConcurrentHashMap<>();
+
+    public PlayerHudPipeline(PlaytimeService playtimeService, RankCache rankCache, HudRenderer<?>... renderers) {
+        this(playtimeService, rankCache, new HudRefreshScheduler(), renderers);
+    }
+
+    public PlayerHudPipeline(PlaytimeService playtimeService, RankCache rankCache, HudRefreshScheduler refreshScheduler,
+                             HudRenderer<?>... renderers) {
+        this.playtimeService = playtimeService;
+        this.rankCache = rankCache;
+        this.refreshScheduler = refreshScheduler;
+        this.renderers = renderers.clone();
+        ComponentType<EntityStore, PlayerRef> playerRefType = PlayerRef.getComponentType();
+        ComponentType<EntityStore, Player> playerType = Player.getComponentType();
+        if (playerRefType == null || playerType == null) {
+            this.query = Query.any();
+        } else {
+            @SuppressWarnings("unchecked")
+            Query<EntityStore> q = (Query<EntityStore>) Query.and(new Query[] { (Query) playerRefType, (Query) playerType });
+            this.query = q;
+        }
+        rankCache.addChangeListener(this::onRankChanged);
+    }
+
+    @Override
+    public Query<EntityStore> getQuery() {
+        return this.query;
+    }
+
+    @Override
+    public void tick(float dt, int systemIndex, @Nonnull Store<EntityStore> store) {
+        long t0 = PERF.begin();
+        try {
+            // ranks from the permission-node fallback have no change event; let them age out
+            rankCache.expireStale(System.currentTimeMillis());
+            super.tick(dt, systemIndex, store);
+        } finally {
+            PERF.end(t0);
+        }
+    }
+
+    @Override
+    public void tick(float dt, @Nonnull ArchetypeChunk<EntityStore> chunk, @Nonnull Store<EntityStore> store, @Nonnull CommandBuffer<EntityStore> commandBuffer) {
+        PERF.visit(chunk.size());
+        super.tick(dt, chunk, store, commandBuffer);
+    }
+
+    @Override
+    public void tick(float deltaTime, int entityIndex, ArchetypeChunk<EntityStore> chunk, Store<EntityStore> store, CommandBuffer<EntityStore> commandBuffer) {
+        Frame f = FRAME.get();
+        try {
+            Player player = chunk.getComponent(entityIndex, Player.getComponentType());
+            PlayerRef playerRef = chunk.getComponent(entityIndex, PlayerRef.getComponentType());
+            if (player == null || playerRef == null) return;
+
+            Ref<EntityStore> ref = chunk.getReferenceTo(entityIndex);
+
+            // Removal/invalid-ref cleanup: remove the HUDs (the playtime session is closed on disconnect)
+            if (player.wasRemoved() || ref == null || !ref.isValid()) {
+                PlayerState removed = players.remove(playerRef);
+                if (removed != null) cleanup(removed, player, playerRef);
+                return;
+            }
+
+            HudBackend backend = HudBackend.get();
+            int active = backend.supportsMultipleHuds() ? renderers.length : Math.min(1, renderers.length);
+
+            f.playerRef = playerRef;
+            f.player = player;
+            f.ref = ref;
+
+            PlayerState state = players.get(playerRef);
+            if (state == null) {
+                Slot<?>[] slots = new Slot<?>[renderers.length];
+                for (int i = 0; i < renderers.length; i++) slots[i] = newSlot(renderers[i]);
+                state = new PlayerState(refreshScheduler.newTracker(playerRef), slots);
+                players.put(playerRef, state);
+            }
+
+            // Detect transfer (PlayerRef attached to a different entity Ref)
+            Ref<EntityStore> prevRef = state.ref;
+            boolean transferred = prevRef == null || !prevRef.equals(ref);
+            if (transferred) {
+                state.ref = ref;
+            }
+            if (transferred || state.uuid == null) {
+                // record uuid for the (new) ref; the playtime session itself is opened by PlayerSessionRegistry
+                UUIDComponent uuidComp = chunk.getComponent(entityIndex, UUIDComponent.getComponentType());
+                state.uuid = (uuidComp != null) ? uuidComp.getUuid() : null;
+            }
+            f.uuid = state.uuid;
+            if (state.rankDirty) {
+                state.rankDirty = false;
+                state.tracker.markDirty(HudRefreshScheduler.Field.RANK);
+            }
+
+            // Ensure every HUD exists, then rebuild once if any layout changed
+            boolean rebuild = false;
+            for (int i = 0; i < active; i++) {
+                Slot<?> slot = state.slots[i];
+                if (slot.hud == null) {
+                    slot.attach(f);
+                } else if (transferred) {
+                    slot.onTransfer(prevRef, f);
+                }
+                if (slot.syncLayout(f)) rebuild = true;
+            }
+            if (rebuild) {
+                rebuild(backend, f, state, active, store);
+                state.tracker.forceAll();
+            }
+
+            gather(f, state.tracker, chunk, entityIndex);
+
+            for (int i = 0; i < active; i++) {
+                try {
+                    state.slots[i].render(f);
+                } catch (Throwable ignored) {}
+            }
+        } catch (Throwable ignored) {
+            // keep tick robust
+        } finally {
+            f.clear();
+        }
+    }
+
+    private static <H extends DeltaUIHud> Slot<H> newSlot(HudRenderer<H> renderer) {
+        return new Slot<>(renderer);
+    }
+
+    /**
+     * Compute the fields that are due for this player, once for all renderers.
+     */
+    private void gather(Frame f, HudRefreshScheduler.Tracker due, ArchetypeChunk<EntityStore> chunk, int entityIndex) {
+        long now = System.currentTimeMillis();
+
+        // --- COORDS: integer coords
+        if (due.isDue(HudRefreshScheduler.Field.COORDS, now)) {
+            TransformComponent transform = chunk.getComponent(entityIndex, TransformComponent.getComponentType());
+            if (transform != null) {
+                Vector3d pos = transform.getPosition();
+                f.x = MathUtil.floor(pos.getX());
+                f.y = MathUtil.floor(pos.getY());
+                f.z = MathUtil.floor(pos.getZ());
+                f.positionFresh = true;
+            }
+        }
+
+        // --- PLAYTIME: shared session for this uuid
+        if (due.isDue(HudRefreshScheduler.Field.PLAYTIME, now)) {
+            f.playtime = HudText.playtime(playtimeService.getTotalMillis(f.uuid));
+        }
+
+        // --- RANK: map read from the shared cache; only due after a RankCache change (see onRankChanged)
+        if (due.isDue(HudRefreshScheduler.Field.RANK, now)) {
+            f.rank = rankCache.getRank(f.uuid, f.player);
+        }
+
+        // --- BIOME
+        if (due.isDue(HudRefreshScheduler.Field.BIOME, now)) {
+            try {
+                WorldMapTracker tracker = f.player.getWorldMapTracker();
+                if (tracker != null) {
+                    String currentBiome = tracker.getCurrentBiomeName();
+                    if (currentBiome != null && !currentBiome.isEmpty()) {
+                        f.biome = biomeDisplayNames.computeIfAbsent(currentBiome, this::formatBiomeName);
+                    }
+                }
+            } catch (Throwable ignored) {}
+        }
+    }
+
+    /**
+     * Full rebuild. With MultipleHUD, one wrapper.show() rebuilds the combined UI (which calls every HUD's
+     * build()); otherwise the single HUD's show() is scheduled on the world thread.
+     */
+    private void rebuild(HudBackend backend, Frame f, PlayerState state, int active, Store<EntityStore> store) {
+        if (active == 0) return;
+        final Player player = f.player;              // final copies for lambda capture
+        final DeltaUIHud hud = state.slots[0].hud;
+        try {
+            if (backend.supportsMultipleHuds()) {
+                backend.rebuild(player, hud);
+                return;
+            }
+            // HUD was just handed to the HudManager; show it on the next world task to avoid racing the attach
+            World world = ((EntityStore) store.getExternalData()).getWorld();
+            if (world != null) {
+                world.execute(() -> {
+                    try { backend.rebuild(player, hud); } catch (Throwable ignoredShow) {}
+                });
+            } else {
+                backend.rebuild(player, hud);
+            }
+        } catch (Throwable ignored) {}
+    }
+
+    /**
+     * RankCache change listener: re-read the rank of that player on their next tick. Rank changes are rare,
+     * so a scan over the online players is cheaper than keeping a second index by UUID.
+     */
+    private void onRankChanged(UUID uuid) {
+        if (uuid == null) return;
+        for (PlayerState state : players.values()) {
+            if (uuid.equals(state.uuid)) state.rankDirty = true;
+        }
+    }
+
+    /**
+     * Drop all HUD state of a player (PlayerSessionRegistry, on disconnect).
+     */
+    public void evict(PlayerRef playerRef) {
+        if (playerRef != null) players.remove(playerRef);
+    }
+
+    /**
+     * Forget the entity ref if it is the one that was removed, so the old world's ref is not retained;
+     * the next tick in the new world then takes the transfer path.
+     */
+    public void onPlayerEntityRemoved(PlayerRef playerRef, Ref<EntityStore> ref) {
+        PlayerState state = (playerRef != null) ? players.get(playerRef) : null;
+        if (state != null && ref != null && ref.equals(state.ref)) state.ref = null;
+    }
+
+    public int getTrackedPlayerCount() {
+        return players.size();
+    }
+
+    private void cleanup(PlayerState state, Player player, PlayerRef playerRef) {
+        // detach HUDs if still attached to player (best-effort) via registrar
+        for (Slot<?> slot : state.slots) {
+            if (slot.hud == null) continue;
+            try {
+                slot.detach(player, playerRef);
+            } catch (Throwable ignored) {}
+        }
+    }
+
+    private String formatBiomeName(String internalName) {
+        if (internalName == null) return "Unknown";
+        String name = internalName.replace("zone_1_", "").replace("zone_2_", "").replace("zone_3_", "").replace("zone_4_", "")
+                .replace("Zone1_", "").replace("Zone2_", "").replace("Zone3_", "").replace("Zone4_", "");
+        StringBuilder result = new StringBuilder();
+        String[] words = name.split("_");
+        for (String word : words) {
+            if (!word.isEmpty()) {
+                result.append(Character.toUpperCase(word.charAt(0)));
+                if (word.length() > 1) result.append(word.substring(1).toLowerCase());
+                result.append(" ");
+            }
+        }
+        return result.toString().trim();
+    }
+}
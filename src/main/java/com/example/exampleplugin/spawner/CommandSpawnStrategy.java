@@ -1,5 +1,6 @@
 package com.example.exampleplugin.spawner;
 
+import com.example.exampleplugin.DebugLog;
 import com.hypixel.hytale.logger.HytaleLogger;
 import com.hypixel.hytale.server.core.command.system.CommandManager;
 import com.hypixel.hytale.server.core.console.ConsoleSender;
@@ -51,7 +52,7 @@ public final class CommandSpawnStrategy implements ProximitySpawnSystem.SpawnStr
                     .replace("%z", String.valueOf((int) Math.floor(z)))
                     .replace("%player", playerName);
 
-            LOG.atInfo().log("[CommandSpawn] executing command: %s (asConsole=%s)", cmd, runAsConsole);
+            if (DebugLog.on(DebugLog.Channel.SPAWN)) LOG.atInfo().log("[CommandSpawn] executing command: %s (asConsole=%s)", cmd, runAsConsole);
 
             if (runAsConsole) {
                 try {
@@ -1,5 +1,7 @@
 package com.example.exampleplugin.spawner;
 
+import com.example.exampleplugin.DebugLog;
+import com.example.exampleplugin.PerfMetrics;
 import com.hypixel.hytale.component.*;
 import com.hypixel.hytale.component.query.Query;
 import com.hypixel.hytale.component.system.RefSystem;
@@ -9,7 +11,6 @@ import com.hypixel.hytale.logger.HytaleLogger;
 import com.hypixel.hytale.math.vector.Vector3d;
 import com.hypixel.hytale.server.core.modules.item.ItemModule;
 import com.hypixel.hytale.server.core.inventory.ItemStack;
-import com.hypixel.hytale.server.core.entity.ItemUtils;
 import com.hypixel.hytale.server.core.modules.entity.damage.DeathComponent;
 import com.hypixel.hytale.server.core.modules.entity.damage.Damage;
 import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
@@ -18,19 +19,31 @@ import com.hypixel.hytale.server.npc.entities.NPCEntity;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 
 import javax.annotation.Nonnull;
-import java.util.List;
 import java.util.Collections;
+import java.util.List;
 
 /**
- * Give death drops immediately to the killer (player) and record the death for cleanup.
+ * Death pipeline: reacts once to every entity that gains a DeathComponent (archetype query, no Query.any()).
+ *
+ * The death is resolved once (death info, attacker, death position) and then fans out to:
+ * 1) record stage: record the death for ItemSpawnCleaner so drops the engine still spawns can be claimed
+ * 2) loot stage: queue the dead entity's loot (DeathComponent items, else NPC role drop list) for the killer
+ *    in the LootBatcher and clear it so the engine's drop systems don't duplicate it; LootDeliverySystem
+ *    hands the merged stacks over once per tick
+ *
+ * Only deaths caused by a player are handled; anything else is left to the engine.
  */
-public final class DeathGiveSystem extends RefSystem<EntityStore> {
+public final class DeathPipelineSystem extends RefSystem<EntityStore> {
     private static final HytaleLogger LOG = HytaleLogger.forEnclosingClass();
+    private static final PerfMetrics.Section PERF = PerfMetrics.section("DeathPipelineSystem");
 
-    private final ItemSpawnCleaner cleaner; // call recordDeath on this
+    private final ItemSpawnCleaner cleaner;
+    private final LootBatcher lootBatcher;
 
-    public DeathGiveSystem(ItemSpawnCleaner cleaner) {
+    public DeathPipelineSystem(ItemSpawnCleaner cleaner, LootBatcher lootBatcher) {
         this.cleaner = cleaner;
+        this.lootBatcher = lootBatcher;
+        LOG.atInfo().log("[DeathPipeline] constructed");
     }
 
     @Nonnull
@@ -43,14 +56,18 @@ public final class DeathGiveSystem extends RefSystem<EntityStore> {
     @Nonnull
     @Override
     public java.util.Set<com.hypixel.hytale.component.dependency.Dependency<EntityStore>> getDependencies() {
+        // Run before the engine NPC/player drop systems (and NPCSystems.OnDeathSystem) so loot is taken first.
         return java.util.Set.of(
                 new SystemDependency(Order.BEFORE, com.hypixel.hytale.server.npc.systems.NPCDamageSystems.DropDeathItems.class),
-                new SystemDependency(Order.BEFORE, com.hypixel.hytale.server.core.modules.entity.damage.DeathSystems.DropPlayerDeathItems.class)
+                new SystemDependency(Order.BEFORE, com.hypixel.hytale.server.core.modules.entity.damage.DeathSystems.DropPlayerDeathItems.class),
+                new SystemDependency(Order.BEFORE, com.hypixel.hytale.server.npc.systems.NPCSystems.OnDeathSystem.class)
         );
     }
 
     @Override
     public void onEntityAdded(@Nonnull Ref<EntityStore> deadRef, @Nonnull AddReason reason, @Nonnull Store<EntityStore> store, @Nonnull CommandBuffer<EntityStore> commandBuffer) {
+        long t0 = PERF.begin();
+        PERF.visit(1);
         try {
             DeathComponent death = (DeathComponent) commandBuffer.getComponent(deadRef, DeathComponent.getComponentType());
             if (death == null) return;
@@ -62,58 +79,69 @@ public final class DeathGiveSystem extends RefSystem<EntityStore> {
             Ref<EntityStore> attackerRef = ((Damage.EntitySource) deathInfo.getSource()).getRef();
             if (attackerRef == null || !attackerRef.isValid()) return;
 
-            // Only give to players
+            // Only players get loot (the cleaner also only claims items for players)
             Player attacker = (Player) commandBuffer.getComponent(attackerRef, Player.getComponentType());
             if (attacker == null) return;
 
             TransformComponent tx = (TransformComponent) commandBuffer.getComponent(deadRef, TransformComponent.getComponentType());
             Vector3d deathPos = (tx != null) ? tx.getPosition().clone() : null;
 
-            // 1) If DeathComponent already has itemsLostOnDeath, use those
-            ItemStack[] itemsLost = death.getItemsLostOnDeath();
-            if (itemsLost != null && itemsLost.length > 0) {
-                LOG.atInfo().log("[DeathGive] Giving %d death-component stacks to attacker=%d", itemsLost.length, attackerRef.getIndex());
-                for (ItemStack s : itemsLost) {
-                    if (s == null || s.isEmpty()) continue;
-                    ItemUtils.interactivelyPickupItem(attackerRef, s, deathPos, (ComponentAccessor<EntityStore>) commandBuffer);
-                }
-                // clear so engine's player-drop system doesn't duplicate
-                death.setItemsLostOnDeath(Collections.emptyList());
-                // record for cleanup (in case NPC system still spawns)
-                cleaner.recordDeath(deadRef.getIndex(), deathPos, attackerRef);
-                return;
-            }
+            // 1) record stage
+            cleaner.recordDeath(deadRef.getIndex(), deathPos, attackerRef);
 
-            // 2) If NPC, try role drop list (ItemModule)
-            NPCEntity npc = (NPCEntity) commandBuffer.getComponent(deadRef, NPCEntity.getComponentType());
-            if (npc != null) {
-                // Role -> drop list: the role assets usually define a dropList under role; many servers store it on role.getRoleAsset() or on role.getDropListId()
-                String dropListId = tryExtractDropListIdFromRole(npc.getRole());
-                if (dropListId != null) {
-                    List<ItemStack> drops = ItemModule.get().getRandomItemDrops(dropListId);
-                    if (drops != null && !drops.isEmpty()) {
-                        LOG.atInfo().log("[DeathGive] Generated %d drops for dropList=%s for attacker=%d", drops.size(), dropListId, attackerRef.getIndex());
-                        for (ItemStack stack : drops) {
-                            if (stack == null || stack.isEmpty()) continue;
-                            ItemUtils.interactivelyPickupItem(attackerRef, stack, deathPos, (ComponentAccessor<EntityStore>) commandBuffer);
-                        }
-                        // best-effort clear
-                        death.setItemsLostOnDeath(Collections.emptyList());
-                        cleaner.recordDeath(deadRef.getIndex(), deathPos, attackerRef);
-                        return;
-                    }
-                }
-            }
-
-            // nothing to do deterministically
+            // 2) loot stage
+            int given = transferLoot(deadRef, death, attackerRef, deathPos, commandBuffer);
+            if (DebugLog.on(DebugLog.Channel.DEATH)) LOG.atInfo().log("[DeathPipeline] deadRef=%d attacker=%d reason=%s queued=%d stacks", deadRef.getIndex(), attackerRef.getIndex(), reason, given);
         } catch (Throwable t) {
-            LOG.atWarning().withCause(t).log("[DeathGive] error");
+            LOG.atWarning().withCause(t).log("[DeathPipeline] error handling death ref=%d", deadRef.getIndex());
+        } finally {
+            PERF.end(t0);
         }
     }
 
     @Override
     public void onEntityRemove(@Nonnull Ref<EntityStore> ref, @Nonnull RemoveReason reason, @Nonnull Store<EntityStore> store, @Nonnull CommandBuffer<EntityStore> commandBuffer) {
-        // intentionally empty (do not clear cleaner records here)
+        // intentionally empty (death records expire in the cleaner)
+    }
+
+    /**
+     * Queue the dead entity's loot for the attacker. Returns the number of stacks queued.
+     */
+    private int transferLoot(Ref<EntityStore> deadRef, DeathComponent death, Ref<EntityStore> attackerRef, Vector3d deathPos,
+                             CommandBuffer<EntityStore> commandBuffer) {
+        // a) If DeathComponent already has itemsLostOnDeath, use those
+        ItemStack[] itemsLost = death.getItemsLostOnDeath();
+        if (itemsLost != null && itemsLost.length > 0) {
+            int given = 0;
+            for (ItemStack s : itemsLost) {
+                if (s == null || s.isEmpty()) continue;
+                lootBatcher.add(attackerRef, s, deathPos);
+                given++;
+            }
+            // clear so engine's player-drop system doesn't duplicate
+            death.setItemsLostOnDeath(Collections.emptyList());
+            return given;
+        }
+
+        // b) If NPC, try role drop list (ItemModule)
+        NPCEntity npc = (NPCEntity) commandBuffer.getComponent(deadRef, NPCEntity.getComponentType());
+        if (npc == null) return 0;
+
+        String dropListId = tryExtractDropListIdFromRole(npc.getRole());
+        if (dropListId == null) return 0;
+
+        List<ItemStack> drops = ItemModule.get().getRandomItemDrops(dropListId);
+        if (drops == null || drops.isEmpty()) return 0;
+
+        int given = 0;
+        for (ItemStack stack : drops) {
+            if (stack == null || stack.isEmpty()) continue;
+            lootBatcher.add(attackerRef, stack, deathPos);
+            given++;
+        }
+        // best-effort clear
+        death.setItemsLostOnDeath(Collections.emptyList());
+        return given;
     }
 
     // Minimal safe extractor: try common getters. If your Role API has a concrete method, replace with it.
@@ -128,4 +156,4 @@ public final class DeathGiveSystem extends RefSystem<EntityStore> {
         } catch (Throwable ignored) {}
         return null;
     }
-}
\ No newline at end of file
+}
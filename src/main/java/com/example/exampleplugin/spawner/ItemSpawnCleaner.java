@@ -1,5 +1,7 @@
 package com.example.exampleplugin.spawner;
 
+import com.example.exampleplugin.DebugLog;
+import com.example.exampleplugin.PerfMetrics;
 import com.hypixel.hytale.component.*;
 import com.hypixel.hytale.component.query.Query;
 import com.hypixel.hytale.component.system.tick.EntityTickingSystem;
@@ -11,34 +13,52 @@ import com.hypixel.hytale.server.core.modules.entity.item.ItemComponent;
 import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.hypixel.hytale.server.core.inventory.ItemStack;
-import com.hypixel.hytale.server.core.entity.ItemUtils;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 
 import javax.annotation.Nonnull;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Scans newly spawned item entities; if they are near a recently-recorded death, immediately
- * hand the item stack to the recorded attacker and remove the entity.
+ * Scans newly spawned item entities; if they are near a recently-recorded death, queue the item stack
+ * for the recorded attacker (LootBatcher) and remove the entity.
  *
  * Dedupe is per-death-aware: we skip only when an itemRef was already handled at/after the death timestamp.
+ *
+ * Death records live in a per-world DeathGrid (cells of matchRadiusMeters), so an item only tests the records
+ * of its own and the 8 neighbouring cells. Expiry of death records and processed-item marks runs once per
+ * world tick from time-ordered queues (cost proportional to what expired); worlds without recent deaths
+ * skip the per-item pass entirely.
  */
 public final class ItemSpawnCleaner extends EntityTickingSystem<EntityStore> {
     private static final HytaleLogger LOG = HytaleLogger.forEnclosingClass();
+    private static final PerfMetrics.Section PERF = PerfMetrics.section("ItemSpawnCleaner");
 
     private static final class DeathRecord {
+        final int deadIndex;
         final Vector3d pos;
         final Ref<EntityStore> attacker;
         final long time;
+        final long cellKey;
+        boolean removed; // guarded by the owning grid
 
-        DeathRecord(Vector3d pos, Ref<EntityStore> attacker, long time) { this.pos = pos; this.attacker = attacker; this.time = time; }
+        DeathRecord(int deadIndex, Vector3d pos, Ref<EntityStore> attacker, long time, long cellKey) {
+            this.deadIndex = deadIndex; this.pos = pos; this.attacker = attacker; this.time = time; this.cellKey = cellKey;
+        }
     }
 
-    // deathIndex -> DeathRecord
-    private final Map<Integer, DeathRecord> deathRecords = new ConcurrentHashMap<>();
+    private final LootBatcher lootBatcher;
+
+    // world store -> death records of that world
+    private final Map<Store<EntityStore>, DeathGrid> deathGrids = new ConcurrentHashMap<>();
 
-    // itemRefIndex -> last handled timestamp (ms)
-    private final Map<Integer, Long> processedItemTimestamps = new ConcurrentHashMap<>();
+    // scratch list of candidate records for the item being ticked (world threads tick in parallel)
+    private static final ThreadLocal<List<DeathRecord>> CANDIDATES = ThreadLocal.withInitial(ArrayList::new);
 
     // tuning
     private double matchRadiusMeters = 5.0;
@@ -47,7 +67,8 @@ public final class ItemSpawnCleaner extends EntityTickingSystem<EntityStore> {
     // after we mark an item as processed, keep that record for this many ms to avoid reprocessing
     private long processedItemRetentionMs = 30_000L;
 
-    public ItemSpawnCleaner() {
+    public ItemSpawnCleaner(LootBatcher lootBatcher) {
+        this.lootBatcher = lootBatcher;
         LOG.atInfo().log("[ItemSpawnCleaner] constructed (matchRadius=%.1f ttlMs=%d processedRetentionMs=%d)", matchRadiusMeters, ttlMs, processedItemRetentionMs);
     }
 
@@ -70,25 +91,69 @@ public final class ItemSpawnCleaner extends EntityTickingSystem<EntityStore> {
     }
 
     /**
-     * Called by the death watcher when a death is observed.
+     * Called by DeathPipelineSystem when a player kill is observed.
      */
     public void recordDeath(int deadEntityIndex, Vector3d pos, Ref<EntityStore> attackerRef) {
         if (pos == null || attackerRef == null) {
-            LOG.atInfo().log("[ItemSpawnCleaner] recordDeath called with null pos/attacker (deadIndex=%d)", deadEntityIndex);
+            if (DebugLog.on(DebugLog.Channel.CLEANER)) LOG.atInfo().log("[ItemSpawnCleaner] recordDeath called with null pos/attacker (deadIndex=%d)", deadEntityIndex);
             return;
         }
-        DeathRecord dr = new DeathRecord(pos.clone(), attackerRef, System.currentTimeMillis());
-        deathRecords.put(deadEntityIndex, dr);
-        LOG.atInfo().log("[ItemSpawnCleaner] recorded death index=%d attacker=%d pos=%s (records=%d)", deadEntityIndex, attackerRef.getIndex(), pos, deathRecords.size());
+        // the attacker is in the dead entity's world, so its store identifies the grid
+        Store<EntityStore> store = attackerRef.getStore();
+        if (store == null) return;
+        Vector3d p = pos.clone();
+        long time = System.currentTimeMillis();
+        while (true) {
+            DeathGrid grid = deathGrids.computeIfAbsent(store, k -> new DeathGrid(matchRadiusMeters));
+            DeathRecord dr = new DeathRecord(deadEntityIndex, p, attackerRef, time, grid.cellKeyOf(p.getX(), p.getZ()));
+            int size = grid.add(dr);
+            if (size < 0) {
+                // grid was retired concurrently; drop it and take a fresh one
+                deathGrids.remove(store, grid);
+                continue;
+            }
+            if (DebugLog.on(DebugLog.Channel.CLEANER)) LOG.atInfo().log("[ItemSpawnCleaner] recorded death index=%d attacker=%d pos=%s (records=%d)", deadEntityIndex, attackerRef.getIndex(), pos, size);
+            return;
+        }
+    }
+
+    /**
+     * World-level tick: expire this world's records once, then run the per-item pass only if deaths remain.
+     */
+    @Override
+    public void tick(float dt, int systemIndex, @Nonnull Store<EntityStore> store) {
+        DeathGrid grid = deathGrids.get(store);
+        if (grid == null) return; // no recent deaths in this world: nothing to match
+
+        long t0 = PERF.begin();
+        try {
+            try {
+                if (grid.expire(System.currentTimeMillis(), ttlMs, processedItemRetentionMs) && grid.retireIfEmpty()) {
+                    deathGrids.remove(store, grid);
+                    return;
+                }
+            } catch (Throwable t) {
+                LOG.atWarning().withCause(t).log("[ItemSpawnCleaner] maintenance error");
+            }
+            super.tick(dt, systemIndex, store);
+        } finally {
+            PERF.end(t0);
+        }
+    }
+
+    @Override
+    public void tick(float dt, @Nonnull ArchetypeChunk<EntityStore> chunk, @Nonnull Store<EntityStore> store, @Nonnull CommandBuffer<EntityStore> commandBuffer) {
+        PERF.visit(chunk.size());
+        super.tick(dt, chunk, store, commandBuffer);
     }
 
     @Override
     public void tick(float dt, int index, @Nonnull ArchetypeChunk<EntityStore> chunk, @Nonnull Store<EntityStore> store, @Nonnull CommandBuffer<EntityStore> commandBuffer) {
         try {
-            // prune old processed item entries occasionally
-            pruneProcessedItems();
+            DeathGrid grid = deathGrids.get(store);
+            if (grid == null) return; // nothing to do
 
-            if (deathRecords.isEmpty()) return; // nothing to do
+            long now = System.currentTimeMillis();
 
             Ref<EntityStore> itemRef = chunk.getReferenceTo(index);
             ItemComponent itemComp = (ItemComponent) chunk.getComponent(index, ItemComponent.getComponentType());
@@ -97,73 +162,211 @@ public final class ItemSpawnCleaner extends EntityTickingSystem<EntityStore> {
 
             int itemIndex = itemRef.getIndex();
             Vector3d itemPos = tx.getPosition();
-            long now = System.currentTimeMillis();
 
-            // For each death record: decide if item is within radius, and if we should handle it.
-            for (Map.Entry<Integer, DeathRecord> e : deathRecords.entrySet()) {
-                int deadIndex = e.getKey();
-                DeathRecord dr = e.getValue();
+            List<DeathRecord> candidates = CANDIDATES.get();
+            try {
+                grid.collectNear(itemPos, matchRadiusMeters, candidates);
 
-                if (now - dr.time > ttlMs) {
-                    deathRecords.remove(deadIndex);
-                    LOG.atInfo().log("[ItemSpawnCleaner] expired death record index=%d", deadIndex);
-                    continue;
-                }
+                // For each nearby death record: decide if we should handle the item.
+                for (int c = 0; c < candidates.size(); c++) {
+                    DeathRecord dr = candidates.get(c);
+                    int deadIndex = dr.deadIndex;
 
-                double dist = itemPos.distanceTo(dr.pos);
-                if (dist > matchRadiusMeters) continue;
+                    ItemStack stack = itemComp.getItemStack();
+                    if (DebugLog.on(DebugLog.Channel.CLEANER)) LOG.atInfo().log("[ItemSpawnCleaner] candidate spawned item ref=%d near death=%d dist=%.2f stack=%s", itemIndex, deadIndex, itemPos.distanceTo(dr.pos), stack);
 
-                ItemStack stack = itemComp.getItemStack();
-                LOG.atInfo().log("[ItemSpawnCleaner] candidate spawned item ref=%d near death=%d dist=%.2f stack=%s", itemIndex, deadIndex, dist, stack);
+                    // Per-death-aware dedupe:
+                    long lastHandled = grid.lastProcessed(itemIndex);
+                    if (lastHandled != 0L && lastHandled >= dr.time) {
+                        // This itemRef was already handled at or after the death timestamp -> skip for this death.
+                        if (DebugLog.on(DebugLog.Channel.CLEANER)) LOG.atInfo().log("[ItemSpawnCleaner] skipping already-processed itemRef=%d (last=%d ms ago relative to now) for death=%d", itemIndex, now - lastHandled, deadIndex);
+                        // don't break; maybe other deathRecords exist where lastHandled < that death time (unlikely) — continue checking.
+                        continue;
+                    }
 
-                // Per-death-aware dedupe:
-                Long lastHandled = processedItemTimestamps.get(itemIndex);
-                if (lastHandled != null && lastHandled >= dr.time) {
-                    // This itemRef was already handled at or after the death timestamp -> skip for this death.
-                    LOG.atInfo().log("[ItemSpawnCleaner] skipping already-processed itemRef=%d (last=%d ms ago relative to now) for death=%d", itemIndex, now - lastHandled, deadIndex);
-                    // don't break; maybe other deathRecords exist where lastHandled < that death time (unlikely) — continue checking.
-                    continue;
-                }
+                    Ref<EntityStore> attackerRef = dr.attacker;
+                    if (attackerRef == null || !attackerRef.isValid()) {
+                        if (DebugLog.on(DebugLog.Channel.CLEANER)) LOG.atInfo().log("[ItemSpawnCleaner] attackerRef invalid for death %d; removing record", deadIndex);
+                        grid.remove(dr);
+                        continue;
+                    }
 
-                Ref<EntityStore> attackerRef = dr.attacker;
-                if (attackerRef == null || !attackerRef.isValid()) {
-                    LOG.atInfo().log("[ItemSpawnCleaner] attackerRef invalid for death %d; removing record", deadIndex);
-                    deathRecords.remove(deadIndex);
-                    continue;
-                }
+                    Object maybePlayer = commandBuffer.getComponent(attackerRef, com.hypixel.hytale.server.core.entity.entities.Player.getComponentType());
+                    if (maybePlayer == null) {
+                        if (DebugLog.on(DebugLog.Channel.CLEANER)) LOG.atInfo().log("[ItemSpawnCleaner] attackerRef %d is not a player; removing record", attackerRef.getIndex());
+                        grid.remove(dr);
+                        continue;
+                    }
 
-                Object maybePlayer = commandBuffer.getComponent(attackerRef, com.hypixel.hytale.server.core.entity.entities.Player.getComponentType());
-                if (maybePlayer == null) {
-                    LOG.atInfo().log("[ItemSpawnCleaner] attackerRef %d is not a player; removing record", attackerRef.getIndex());
-                    deathRecords.remove(deadIndex);
-                    continue;
-                }
+                    // Mark as processed for this item BEFORE attempting pickup to avoid re-entrancy loops.
+                    grid.markProcessed(itemIndex, now);
 
-                // Mark as processed for this item BEFORE attempting pickup to avoid re-entrancy loops.
-                processedItemTimestamps.put(itemIndex, now);
+                    try {
+                        if (DebugLog.on(DebugLog.Channel.CLEANER)) LOG.atInfo().log("[ItemSpawnCleaner] claiming: itemRef=%d deadIndex=%d attacker=%d", itemIndex, deadIndex, attackerRef.getIndex());
+                        // queued with the killer's other loot this tick; LootDeliverySystem hands it over merged
+                        lootBatcher.add(attackerRef, stack, itemPos.clone());
 
-                try {
-                    LOG.atInfo().log("[ItemSpawnCleaner] attempting pickup: itemRef=%d deadIndex=%d attacker=%d", itemIndex, deadIndex, attackerRef.getIndex());
-                    ItemUtils.interactivelyPickupItem(attackerRef, stack, itemPos, (ComponentAccessor<EntityStore>) commandBuffer);
+                        // Remove the spawned entity so nothing remains on the ground.
+                        commandBuffer.removeEntity(itemRef, RemoveReason.REMOVE);
 
-                    // Remove the spawned entity so nothing remains on the ground.
-                    commandBuffer.removeEntity(itemRef, RemoveReason.REMOVE);
+                        if (DebugLog.on(DebugLog.Channel.CLEANER)) LOG.atInfo().log("[ItemSpawnCleaner] claimed itemRef=%d for attacker=%d and removed entity", itemIndex, attackerRef.getIndex());
+                    } catch (Throwable ex) {
+                        LOG.atWarning().withCause(ex).log("[ItemSpawnCleaner] failed to claim itemRef=%d for attacker=%d", itemIndex, attackerRef.getIndex());
+                    }
 
-                    LOG.atInfo().log("[ItemSpawnCleaner] claimed itemRef=%d for attacker=%d and removed entity", itemIndex, attackerRef.getIndex());
-                } catch (Throwable ex) {
-                    LOG.atWarning().withCause(ex).log("[ItemSpawnCleaner] failed to interactively pickup itemRef=%d for attacker=%d", itemIndex, attackerRef.getIndex());
+                    // We've handled this item for one death; stop checking other death records for it.
+                    break;
                 }
-
-                // We've handled this item for one death; stop checking other death records for it.
-                break;
+            } finally {
+                candidates.clear();
             }
         } catch (Throwable t) {
             LOG.atWarning().withCause(t).log("[ItemSpawnCleaner] tick error");
         }
     }
 
-    private void pruneProcessedItems() {
-        long now = System.currentTimeMillis();
-        processedItemTimestamps.entrySet().removeIf(en -> (now - en.getValue()) > processedItemRetentionMs);
+    private static final class ProcessedMark {
+        final int itemIndex;
+        final long time;
+
+        ProcessedMark(int itemIndex, long time) { this.itemIndex = itemIndex; this.time = time; }
+    }
+
+    /**
+     * Death records of one world, bucketed into square cells of the match radius: every record within the
+     * radius of a point lies in the point's cell or one of its 8 neighbours.
+     *
+     * - byDeadIndex: a death recorded twice (several death systems see it) replaces the older record
+     * - expiry: records in recording order, so expiry only looks at the head of the queue; replaced/removed
+     *   records stay in the queue (flagged) and are dropped when they reach the head
+     * - processedExpiry: the same for processed-item marks; a mark superseded by a newer one for the same
+     *   item is skipped when it reaches the head
+     *
+     * It also holds the world's processed-item marks (item index -> last handled time). They only matter while
+     * death records exist (a mark older than every record never skips anything), so they go with the grid.
+     *
+     * One world thread records and matches, but access is synchronized so a late recordDeath from another
+     * thread stays safe.
+     */
+    private static final class DeathGrid {
+        private final double cellSize;
+        private final Long2ObjectOpenHashMap<ArrayList<DeathRecord>> cells = new Long2ObjectOpenHashMap<>();
+        private final Int2ObjectOpenHashMap<DeathRecord> byDeadIndex = new Int2ObjectOpenHashMap<>();
+        private final ArrayDeque<DeathRecord> expiry = new ArrayDeque<>();
+        private final Int2ObjectOpenHashMap<ProcessedMark> processed = new Int2ObjectOpenHashMap<>();
+        private final ArrayDeque<ProcessedMark> processedExpiry = new ArrayDeque<>();
+        private boolean retired;
+
+        DeathGrid(double matchRadius) {
+            this.cellSize = Math.max(1.0, matchRadius);
+        }
+
+        long cellKeyOf(double x, double z) {
+            return cellKey(cellCoord(x), cellCoord(z));
+        }
+
+        /**
+         * Add a record; returns the live record count, or -1 if this grid was retired and must not be used.
+         */
+        synchronized int add(DeathRecord dr) {
+            if (retired) return -1;
+            DeathRecord previous = byDeadIndex.put(dr.deadIndex, dr);
+            if (previous != null) unlink(previous);
+            ArrayList<DeathRecord> cell = cells.get(dr.cellKey);
+            if (cell == null) {
+                cell = new ArrayList<>(4);
+                cells.put(dr.cellKey, cell);
+            }
+            cell.add(dr);
+            expiry.addLast(dr);
+            return byDeadIndex.size();
+        }
+
+        synchronized void remove(DeathRecord dr) {
+            if (dr.removed) return;
+            if (byDeadIndex.get(dr.deadIndex) == dr) byDeadIndex.remove(dr.deadIndex);
+            unlink(dr);
+        }
+
+        /**
+         * Drop death records older than ttlMs and processed marks older than retentionMs from the heads of
+         * their queues. Returns true if no death records are left.
+         */
+        synchronized boolean expire(long now, long ttlMs, long retentionMs) {
+            DeathRecord head;
+            while ((head = expiry.peekFirst()) != null && (head.removed || now - head.time > ttlMs)) {
+                expiry.pollFirst();
+                if (!head.removed) {
+                    if (DebugLog.on(DebugLog.Channel.CLEANER)) LOG.atInfo().log("[ItemSpawnCleaner] expired death record index=%d", head.deadIndex);
+                    remove(head);
+                }
+            }
+            ProcessedMark mark;
+            while ((mark = processedExpiry.peekFirst()) != null && now - mark.time > retentionMs) {
+                processedExpiry.pollFirst();
+                if (processed.get(mark.itemIndex) == mark) processed.remove(mark.itemIndex);
+            }
+            return expiry.isEmpty();
+        }
+
+        /**
+         * Time (ms) the item was last handled, or 0 if it was not handled within the retention window.
+         */
+        synchronized long lastProcessed(int itemIndex) {
+            ProcessedMark mark = processed.get(itemIndex);
+            return (mark == null) ? 0L : mark.time;
+        }
+
+        synchronized void markProcessed(int itemIndex, long now) {
+            ProcessedMark mark = new ProcessedMark(itemIndex, now);
+            processed.put(itemIndex, mark);
+            processedExpiry.addLast(mark);
+        }
+
+        /**
+         * Mark an empty grid as retired so it can be dropped from the world map; a concurrent add then
+         * goes to a fresh grid instead.
+         */
+        synchronized boolean retireIfEmpty() {
+            if (!expiry.isEmpty()) return false;
+            retired = true;
+            return true;
+        }
+
+        /**
+         * Collect the live records within radius of pos (3D distance) into out.
+         */
+        synchronized void collectNear(Vector3d pos, double radius, List<DeathRecord> out) {
+            if (byDeadIndex.isEmpty()) return;
+            double radiusSq = radius * radius;
+            int cx = cellCoord(pos.getX());
+            int cz = cellCoord(pos.getZ());
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dz = -1; dz <= 1; dz++) {
+                    ArrayList<DeathRecord> cell = cells.get(cellKey(cx + dx, cz + dz));
+                    if (cell == null) continue;
+                    for (int i = 0; i < cell.size(); i++) {
+                        DeathRecord dr = cell.get(i);
+                        if (pos.distanceSquaredTo(dr.pos) <= radiusSq) out.add(dr);
+                    }
+                }
+            }
+        }
+
+        private void unlink(DeathRecord dr) {
+            dr.removed = true;
+            ArrayList<DeathRecord> cell = cells.get(dr.cellKey);
+            if (cell == null) return;
+            cell.remove(dr);
+            if (cell.isEmpty()) cells.remove(dr.cellKey);
+        }
+
+        private int cellCoord(double v) {
+            return (int) Math.floor(v / cellSize);
+        }
+
+        private static long cellKey(int cx, int cz) {
+            return ((long) cx << 32) | (cz & 0xFFFFFFFFL);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,118 @@
+package com.example.exampleplugin.spawner;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.asset.type.item.config.Item;
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Accumulates loot per killer between deliveries. Stacks that can stack with each other are merged
+ * (up to the item's max stack), so 30 kills dropping the same item become a couple of stacks.
+ *
+ * LootDeliverySystem drains a killer's batch once per tick on the world thread. A batch whose killer is gone
+ * before delivery (world transfer, disconnect, death) is handed back by purgeInvalid() so it can be spilled
+ * in the world it came from: by then the ground items were already removed.
+ */
+public final class LootBatcher {
+
+    static final class Batch {
+        final List<ItemStack> stacks = new ArrayList<>(4);
+        Vector3d lastPos;
+        Store<EntityStore> store; // world of the killer when the loot was queued
+        boolean drained; // set under the batch lock once delivery took it
+    }
+
+    private final Map<Ref<EntityStore>, Batch> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Queue a stack for the killer. pos is where overflow is spilled (last queued position wins).
+     */
+    public void add(@Nonnull Ref<EntityStore> killerRef, @Nullable ItemStack stack, @Nullable Vector3d pos) {
+        if (stack == null || stack.isEmpty()) return;
+        while (true) {
+            Batch batch = pending.computeIfAbsent(killerRef, k -> new Batch());
+            synchronized (batch) {
+                if (batch.drained) continue; // delivered meanwhile; start a new batch
+                merge(batch.stacks, stack);
+                if (pos != null) batch.lastPos = pos;
+                if (batch.store == null) batch.store = killerRef.getStore();
+                return;
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return pending.isEmpty();
+    }
+
+    /**
+     * Remove and return the killer's batch, or null if nothing is queued. The caller must set
+     * Batch.drained under the batch lock before reading it.
+     */
+    @Nullable
+    Batch drain(@Nonnull Ref<EntityStore> killerRef) {
+        return pending.remove(killerRef);
+    }
+
+    /**
+     * Remove the batches of this world whose killer no longer exists (left, changed world or died before
+     * delivery) and return them, already marked drained, for spilling.
+     */
+    @Nonnull
+    List<Batch> purgeInvalid(@Nonnull Store<EntityStore> store) {
+        List<Batch> purged = null;
+        for (Iterator<Map.Entry<Ref<EntityStore>, Batch>> it = pending.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Ref<EntityStore>, Batch> e = it.next();
+            Batch batch = e.getValue();
+            if (e.getKey().isValid() || batch.store != store) continue;
+            it.remove();
+            synchronized (batch) {
+                batch.drained = true;
+            }
+            if (purged == null) purged = new ArrayList<>(2);
+            purged.add(batch);
+        }
+        return (purged != null) ? purged : Collections.emptyList();
+    }
+
+    private static void merge(List<ItemStack> stacks, ItemStack stack) {
+        int max = maxStack(stack);
+        int remaining = stack.getQuantity();
+        for (int i = 0; i < stacks.size() && remaining > 0; i++) {
+            ItemStack existing = stacks.get(i);
+            if (!existing.isStackableWith(stack)) continue;
+            int room = max - existing.getQuantity();
+            if (room <= 0) continue;
+            int moved = Math.min(room, remaining);
+            stacks.set(i, existing.withQuantity(existing.getQuantity() + moved));
+            remaining -= moved;
+        }
+        while (remaining > 0) {
+            int q = Math.min(max, remaining);
+            stacks.add(q == stack.getQuantity() ? stack : stack.withQuantity(q));
+            remaining -= q;
+        }
+    }
+
+    private static int maxStack(ItemStack stack) {
+        try {
+            Item item = stack.getItem();
+            int max = (item != null) ? item.getMaxStack() : 0;
+            // unknown max stack: never merge past the incoming quantity
+            return (max > 0) ? max : Math.max(1, stack.getQuantity());
+        } catch (Throwable t) {
+            return Math.max(1, stack.getQuantity());
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.exampleplugin.spawner;
+
+import com.example.exampleplugin.DebugLog;
+import com.example.exampleplugin.PerfMetrics;
+import com.hypixel.hytale.component.*;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.system.tick.EntityTickingSystem;
+import com.hypixel.hytale.component.dependency.SystemDependency;
+import com.hypixel.hytale.component.dependency.Order;
+import com.hypixel.hytale.logger.HytaleLogger;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.math.vector.Vector3f;
+import com.hypixel.hytale.server.core.entity.ItemUtils;
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
+import com.hypixel.hytale.server.core.modules.entity.item.ItemComponent;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+
+/**
+ * Delivers the loot LootBatcher accumulated for a player, once per tick: every merged stack is handed over
+ * with one pickup call (which also spills what does not fit at the last death position).
+ *
+ * Runs after ItemSpawnCleaner so items claimed this tick go out in the same delivery. Worlds skip the
+ * per-player pass while nothing is queued. Batches of killers that are gone before delivery are spilled at
+ * their last position in their own world instead of being lost.
+ */
+public final class LootDeliverySystem extends EntityTickingSystem<EntityStore> {
+    private static final HytaleLogger LOG = HytaleLogger.forEnclosingClass();
+    private static final PerfMetrics.Section PERF = PerfMetrics.section("LootDeliverySystem");
+
+    private final LootBatcher batcher;
+
+    public LootDeliverySystem(LootBatcher batcher) {
+        this.batcher = batcher;
+    }
+
+    @Nonnull
+    @Override
+    public Query<EntityStore> getQuery() {
+        var pt = Player.getComponentType();
+        return (pt == null) ? Query.any() : Archetype.of(new ComponentType[]{ pt });
+    }
+
+    @Nonnull
+    @Override
+    public java.util.Set<com.hypixel.hytale.component.dependency.Dependency<EntityStore>> getDependencies() {
+        return java.util.Set.of(
+                new SystemDependency(Order.AFTER, ItemSpawnCleaner.class)
+        );
+    }
+
+    @Override
+    public void tick(float dt, int systemIndex, @Nonnull Store<EntityStore> store) {
+        if (batcher.isEmpty()) return; // nothing queued anywhere
+        long t0 = PERF.begin();
+        try {
+            super.tick(dt, systemIndex, store);
+            try {
+                List<LootBatcher.Batch> orphaned = batcher.purgeInvalid(store);
+                if (!orphaned.isEmpty()) spill(store, orphaned);
+            } catch (Throwable t) {
+                LOG.atWarning().withCause(t).log("[LootDelivery] purge error");
+            }
+        } finally {
+            PERF.end(t0);
+        }
+    }
+
+    /**
+     * Drop the loot of killers that are gone back on the ground at the last death position. Scheduled as a
+     * world task because entities cannot be added to the store while its systems are ticking.
+     */
+    private static void spill(@Nonnull Store<EntityStore> store, @Nonnull List<LootBatcher.Batch> batches) {
+        World world = ((EntityStore) store.getExternalData()).getWorld();
+        if (world == null) {
+            LOG.atWarning().log("[LootDelivery] cannot spill %d orphaned batches: world unavailable", batches.size());
+            return;
+        }
+        world.execute(() -> {
+            for (LootBatcher.Batch batch : batches) {
+                if (batch.lastPos == null) {
+                    LOG.atWarning().log("[LootDelivery] orphaned batch without position; %d stacks lost", batch.stacks.size());
+                    continue;
+                }
+                try {
+                    Holder<EntityStore>[] drops = ItemComponent.generateItemDrops(store, batch.stacks, batch.lastPos, Vector3f.ZERO);
+                    if (drops != null && drops.length > 0) store.addEntities(drops, AddReason.SPAWN);
+                    if (DebugLog.on(DebugLog.Channel.LOOT)) LOG.atInfo().log("[LootDelivery] killer gone; spilled %d stacks at %s", batch.stacks.size(), batch.lastPos);
+                } catch (Throwable t) {
+                    LOG.atWarning().withCause(t).log("[LootDelivery] failed to spill orphaned batch");
+                }
+            }
+        });
+    }
+
+    @Override
+    public void tick(float dt, @Nonnull ArchetypeChunk<EntityStore> chunk, @Nonnull Store<EntityStore> store, @Nonnull CommandBuffer<EntityStore> commandBuffer) {
+        PERF.visit(chunk.size());
+        super.tick(dt, chunk, store, commandBuffer);
+    }
+
+    @Override
+    public void tick(float dt, int index, @Nonnull ArchetypeChunk<EntityStore> chunk, @Nonnull Store<EntityStore> store, @Nonnull CommandBuffer<EntityStore> commandBuffer) {
+        try {
+            Ref<EntityStore> ref = chunk.getReferenceTo(index);
+            if (ref == null || !ref.isValid()) return;
+
+            LootBatcher.Batch batch = batcher.drain(ref);
+            if (batch == null) return;
+
+            Vector3d pos = batch.lastPos;
+            if (pos == null) {
+                TransformComponent tx = (TransformComponent) chunk.getComponent(index, TransformComponent.getComponentType());
+                if (tx != null) pos = tx.getPosition();
+            }
+
+            synchronized (batch) {
+                batch.drained = true;
+                for (int i = 0; i < batch.stacks.size(); i++) {
+                    ItemStack stack = batch.stacks.get(i);
+                    try {
+                        ItemUtils.interactivelyPickupItem(ref, stack, pos, (ComponentAccessor<EntityStore>) commandBuffer);
+                    } catch (Throwable ex) {
+                        LOG.atWarning().withCause(ex).log("[LootDelivery] failed to deliver stack=%s to ref=%d", stack, ref.getIndex());
+                    }
+                }
+                if (DebugLog.on(DebugLog.Channel.LOOT)) LOG.atInfo().log("[LootDelivery] delivered %d merged stacks to ref=%d", batch.stacks.size(), ref.getIndex());
+            }
+        } catch (Throwable t) {
+            LOG.atWarning().withCause(t).log("[LootDelivery] tick error");
+        }
+    }
+}
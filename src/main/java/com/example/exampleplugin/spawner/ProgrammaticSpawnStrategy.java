@@ -1,5 +1,6 @@
 package com.example.exampleplugin.spawner;
 
+import com.example.exampleplugin.DebugLog;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.logger.HytaleLogger;
@@ -50,6 +51,11 @@ public class ProgrammaticSpawnStrategy implements ProximitySpawnSystem.SpawnStra
         this.spawnOnExact = spawnOnExact;
     }
 
+    // detailed logging: this spawn's "debug" flag, or the SPAWN debug channel for all spawns
+    private boolean debugOn() {
+        return debug || DebugLog.on(DebugLog.Channel.SPAWN);
+    }
+
     @Override
     public void spawn(World world, double x, double y, double z, PlayerRef trigger, Player triggerPlayer) {
         if (world == null) {
@@ -58,7 +64,7 @@ public class ProgrammaticSpawnStrategy implements ProximitySpawnSystem.SpawnStra
         }
 
         try {
-            if (debug) LOG.atInfo().log("[ProgrammaticSpawn] triggered spawn for type=%s at (%.1f,%.1f,%.1f) exact=%s by=%s",
+            if (debugOn()) LOG.atInfo().log("[ProgrammaticSpawn] triggered spawn for type=%s at (%.1f,%.1f,%.1f) exact=%s by=%s",
                     spawnTypeId, x, y, z, spawnOnExact, safePlayerString(trigger));
 
             Store<EntityStore> entityStore = world.getEntityStore().getStore();
@@ -111,13 +117,13 @@ public class ProgrammaticSpawnStrategy implements ProximitySpawnSystem.SpawnStra
             } catch (Throwable ignored) {}
 
             if (nearbyNPCCount.get() > maxNearby) {
-                if (debug) LOG.atInfo().log("[ProgrammaticSpawn] nearby count %d exceeds maxNearby=%d -> skip spawn", nearbyNPCCount.get(), maxNearby);
+                if (debugOn()) LOG.atInfo().log("[ProgrammaticSpawn] nearby count %d exceeds maxNearby=%d -> skip spawn", nearbyNPCCount.get(), maxNearby);
                 return;
             }
 
             // Role index & builder
             int roleIndex = NPCPlugin.get().getIndex(spawnTypeId);
-            if (debug) LOG.atInfo().log("[ProgrammaticSpawn] roleIndex for '%s' -> %d", spawnTypeId, roleIndex);
+            if (debugOn()) LOG.atInfo().log("[ProgrammaticSpawn] roleIndex for '%s' -> %d", spawnTypeId, roleIndex);
             if (roleIndex < 0) {
                 LOG.atWarning().log("[ProgrammaticSpawn] Invalid role name '%s' (index %d). Aborting.", spawnTypeId, roleIndex);
                 return;
@@ -139,7 +145,7 @@ public class ProgrammaticSpawnStrategy implements ProximitySpawnSystem.SpawnStra
                     Vector3d candidate = new Vector3d(x, y, z);
                     Vector3d valid = getValidSpawnPoint(world, candidate, 10);
                     if (valid == null) {
-                        if (debug) LOG.atInfo().log("[ProgrammaticSpawn] exact spawn: no valid spawn point at (%.2f,%.2f,%.2f)", candidate.getX(), candidate.getY(), candidate.getZ());
+                        if (debugOn()) LOG.atInfo().log("[ProgrammaticSpawn] exact spawn: no valid spawn point at (%.2f,%.2f,%.2f)", candidate.getX(), candidate.getY(), candidate.getZ());
                         break;
                     }
 
@@ -176,7 +182,7 @@ public class ProgrammaticSpawnStrategy implements ProximitySpawnSystem.SpawnStra
                     } catch (Throwable ignored) {}
 
                     if (countAtSpot.get() > maxNearby) {
-                        if (debug) LOG.atInfo().log("[ProgrammaticSpawn] exact spawn: nearby cap at spot (%d) exceeded, skipping", countAtSpot.get());
+                        if (debugOn()) LOG.atInfo().log("[ProgrammaticSpawn] exact spawn: nearby cap at spot (%d) exceeded, skipping", countAtSpot.get());
                         break;
                     }
 
@@ -195,7 +201,7 @@ public class ProgrammaticSpawnStrategy implements ProximitySpawnSystem.SpawnStra
                             posSet = false;
                         }
                         if (!posSet) {
-                            if (debug) LOG.atInfo().log("[ProgrammaticSpawn] spawningContext.set failed for exact spawn at %s", valid);
+                            if (debugOn()) LOG.atInfo().log("[ProgrammaticSpawn] spawningContext.set failed for exact spawn at %s", valid);
                             break;
                         }
 
@@ -211,9 +217,9 @@ public class ProgrammaticSpawnStrategy implements ProximitySpawnSystem.SpawnStra
 
                         if (spawned != null && spawned.first() != null && spawned.second() != null) {
                             spawnedTotal++;
-                            if (debug) LOG.atInfo().log("[ProgrammaticSpawn] exact spawned %s at %s", spawnTypeId, spawnPos);
+                            if (debugOn()) LOG.atInfo().log("[ProgrammaticSpawn] exact spawned %s at %s", spawnTypeId, spawnPos);
                         } else {
-                            if (debug) LOG.atWarning().log("[ProgrammaticSpawn] exact spawn returned null for %s", spawnTypeId);
+                            if (debugOn()) LOG.atWarning().log("[ProgrammaticSpawn] exact spawn returned null for %s", spawnTypeId);
                         }
 
                     } catch (Throwable t) {
@@ -233,7 +239,7 @@ public class ProgrammaticSpawnStrategy implements ProximitySpawnSystem.SpawnStra
 
                     Vector3d valid = getValidSpawnPoint(world, candidate, 10);
                     if (valid == null) {
-                        if (debug) LOG.atInfo().log("[ProgrammaticSpawn] attempt %d: no valid spawn point near (%.2f,%.2f,%.2f)", attempts, candidate.getX(), candidate.getY(), candidate.getZ());
+                        if (debugOn()) LOG.atInfo().log("[ProgrammaticSpawn] attempt %d: no valid spawn point near (%.2f,%.2f,%.2f)", attempts, candidate.getX(), candidate.getY(), candidate.getZ());
                         continue;
                     }
 
@@ -270,7 +276,7 @@ public class ProgrammaticSpawnStrategy implements ProximitySpawnSystem.SpawnStra
                     } catch (Throwable ignored) {}
 
                     if (countAtSpot.get() > maxNearby) {
-                        if (debug) LOG.atInfo().log("[ProgrammaticSpawn] attempt %d: nearby count at spot %d exceeds maxNearby=%d -> skipping spot", attempts, countAtSpot.get(), maxNearby);
+                        if (debugOn()) LOG.atInfo().log("[ProgrammaticSpawn] attempt %d: nearby count at spot %d exceeds maxNearby=%d -> skipping spot", attempts, countAtSpot.get(), maxNearby);
                         continue;
                     }
 
@@ -289,7 +295,7 @@ public class ProgrammaticSpawnStrategy implements ProximitySpawnSystem.SpawnStra
                             posSet = false;
                         }
                         if (!posSet) {
-                            if (debug) LOG.atInfo().log("[ProgrammaticSpawn] spawningContext.set failed for candidate %s", valid);
+                            if (debugOn()) LOG.atInfo().log("[ProgrammaticSpawn] spawningContext.set failed for candidate %s", valid);
                             continue;
                         }
 
@@ -305,9 +311,9 @@ public class ProgrammaticSpawnStrategy implements ProximitySpawnSystem.SpawnStra
 
                         if (spawned != null && spawned.first() != null && spawned.second() != null) {
                             spawnedTotal++;
-                            if (debug) LOG.atInfo().log("[ProgrammaticSpawn] spawned %s at %s (attempt %d)", spawnTypeId, spawnPos, attempts);
+                            if (debugOn()) LOG.atInfo().log("[ProgrammaticSpawn] spawned %s at %s (attempt %d)", spawnTypeId, spawnPos, attempts);
                         } else {
-                            if (debug) LOG.atWarning().log("[ProgrammaticSpawn] spawnEntity returned null for %s (attempt %d)", spawnTypeId, attempts);
+                            if (debugOn()) LOG.atWarning().log("[ProgrammaticSpawn] spawnEntity returned null for %s (attempt %d)", spawnTypeId, attempts);
                         }
                     } catch (Throwable t) {
                         LOG.atWarning().withCause(t).log("[ProgrammaticSpawn] exception while attempting programmatic spawn of %s", spawnTypeId);
@@ -315,7 +321,7 @@ public class ProgrammaticSpawnStrategy implements ProximitySpawnSystem.SpawnStra
                 } // end while
             } // end spawnOnExact branch
 
-            if (debug) LOG.atInfo().log("[ProgrammaticSpawn] spawn run finished for %s: attempted=%d spawned=%d", spawnTypeId, attempts, spawnedTotal);
+            if (debugOn()) LOG.atInfo().log("[ProgrammaticSpawn] spawn run finished for %s: attempted=%d spawned=%d", spawnTypeId, attempts, spawnedTotal);
 
         } catch (Throwable t) {
             LOG.atWarning().withCause(t).log("[ProgrammaticSpawn] unexpected error in spawn()");
@@ -1,5 +1,6 @@
 package com.example.exampleplugin.spawner;
 
+import com.example.exampleplugin.PerfMetrics;
 import com.hypixel.hytale.component.*;
 import com.hypixel.hytale.component.query.Query;
 import com.hypixel.hytale.component.system.tick.EntityTickingSystem;
@@ -7,12 +8,12 @@ import com.hypixel.hytale.logger.HytaleLogger;
 import com.hypixel.hytale.math.vector.Vector3d;
 import com.hypixel.hytale.server.core.command.system.CommandManager;
 import com.hypixel.hytale.server.core.console.ConsoleSender;
-import com.hypixel.hytale.server.core.entity.EntityUtils;
 import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 
 import javax.annotation.Nonnull;
 import java.util.*;
@@ -25,10 +26,18 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class ProximitySpawnSystem extends EntityTickingSystem<EntityStore> {
     private static final HytaleLogger LOG = HytaleLogger.forEnclosingClass();
+    private static final PerfMetrics.Section PERF = PerfMetrics.section("ProximitySpawnSystem");
+
+    // worlds tick on their own threads, so each thread gathers players into its own batch
+    private static final ThreadLocal<PlayerBatch> BATCH = ThreadLocal.withInitial(PlayerBatch::new);
 
     private final Query<EntityStore> query;
     // map id -> SpawnEntry
     private final Map<String, SpawnEntry> spawns = new ConcurrentHashMap<>();
+    // world name -> grid of spawns pinned to that world (kept in sync with spawns)
+    private final Map<String, SpawnGrid> worldGrids = new ConcurrentHashMap<>();
+    // grid of spawns without a target world; tested in every world
+    private final SpawnGrid anyWorldGrid = new SpawnGrid();
 
     public ProximitySpawnSystem() {
         super();
@@ -52,6 +61,8 @@ public class ProximitySpawnSystem extends EntityTickingSystem<EntityStore> {
      */
     public void clearSpawns() {
         this.spawns.clear();
+        this.worldGrids.clear();
+        this.anyWorldGrid.clear();
     }
 
     /**
@@ -60,87 +71,142 @@ public class ProximitySpawnSystem extends EntityTickingSystem<EntityStore> {
     public int getSpawnCount() {
         return this.spawns.size();
     }
+
+    /**
+     * Drop the per-player trigger timestamps of a player that left (called on disconnect).
+     */
+    public void evictPlayer(PlayerRef playerRef) {
+        if (playerRef == null) return;
+        for (SpawnEntry entry : this.spawns.values()) {
+            entry.perPlayerLastTrigger.remove(playerRef);
+        }
+    }
+
     @Override
-    public void tick(float deltaTime, int entityIndex, ArchetypeChunk<EntityStore> chunk, Store<EntityStore> store, CommandBuffer<EntityStore> commandBuffer) {
+    public void tick(float dt, int systemIndex, @Nonnull Store<EntityStore> store) {
+        long t0 = PERF.begin();
+        try {
+            super.tick(dt, systemIndex, store);
+        } finally {
+            PERF.end(t0);
+        }
+    }
+
+    /**
+     * Chunk-level tick: all entities of a chunk live in the same store, so the world and its spawn bucket
+     * are resolved once here. Player components are read straight from the chunk columns into a reusable
+     * primitive batch, and triggers are then evaluated for the whole batch in one pass.
+     */
+    @Override
+    public void tick(float deltaTime, ArchetypeChunk<EntityStore> chunk, Store<EntityStore> store, CommandBuffer<EntityStore> commandBuffer) {
+        PlayerBatch batch = null;
+        PERF.visit(chunk.size());
         try {
             if (spawns.isEmpty()) return;
 
-            Holder<EntityStore> holder = EntityUtils.toHolder(entityIndex, chunk);
-            Player player = (Player) holder.getComponent(Player.getComponentType());
-            PlayerRef playerRef = (PlayerRef) holder.getComponent(PlayerRef.getComponentType());
-            if (player == null || playerRef == null) return;
+            World currentWorld = resolveWorld(store);
+            SpawnGrid worldGrid = worldGridFor(currentWorld);
+            if (worldGrid == null && anyWorldGrid.isEmpty()) return;
 
-            Ref<EntityStore> ref = chunk.getReferenceTo(entityIndex);
-            if (ref == null || !ref.isValid()) return;
+            batch = BATCH.get();
+            batch.gather(chunk);
+            if (batch.count == 0) return;
 
-            TransformComponent transform = (TransformComponent) holder.getComponent(TransformComponent.getComponentType());
-            if (transform == null) return;
+            long now = System.currentTimeMillis();
+            double[] positions = batch.positions;
+            for (int k = 0; k < batch.count; k++) {
+                int o = k * 3;
+                evaluate(worldGrid, positions[o], positions[o + 1], positions[o + 2], currentWorld, batch.playerRefs[k], batch.players[k], now);
+            }
+        } catch (Throwable t) {
+            LOG.atWarning().withCause(t).log("[ProximitySpawn] unexpected tick error");
+        } finally {
+            if (batch != null) batch.reset();
+        }
+    }
 
-            Vector3d pos = transform.getPosition();
+    @Override
+    public void tick(float deltaTime, int entityIndex, ArchetypeChunk<EntityStore> chunk, Store<EntityStore> store, CommandBuffer<EntityStore> commandBuffer) {
+        // never called: the chunk-level tick above does not call super and evaluates the whole chunk itself
+    }
 
-            long now = System.currentTimeMillis();
+    private void evaluate(SpawnGrid worldGrid, double px, double py, double pz, World currentWorld, PlayerRef playerRef, Player player, long now) {
+        // only spawns of this world (or world-agnostic ones) whose radius overlaps the player's cell can trigger
+        if (worldGrid != null) {
+            triggerGrid(worldGrid, px, py, pz, currentWorld, playerRef, player, now);
+        }
+        triggerGrid(anyWorldGrid, px, py, pz, currentWorld, playerRef, player, now);
+    }
 
-            // iterate over all spawn entries and check whether this player triggers them
-            for (SpawnEntry entry : spawns.values()) {
-                // world check
-                World currentWorld = null;
-                try {
-                    Object external = store.getExternalData();
-                    if (external instanceof EntityStore) {
-                        currentWorld = ((EntityStore) external).getWorld();
-                    }
-                } catch (Throwable ignored) {}
+    private void triggerGrid(SpawnGrid grid, double px, double py, double pz, World currentWorld, PlayerRef playerRef, Player player, long now) {
+        for (SpawnEntry entry : grid.cellAt(px, pz)) {
+            tryTrigger(entry, px, py, pz, currentWorld, playerRef, player, now);
+        }
+        for (SpawnEntry entry : grid.oversized()) {
+            tryTrigger(entry, px, py, pz, currentWorld, playerRef, player, now);
+        }
+    }
 
-                if (entry.targetWorldName != null) {
-                    if (currentWorld == null) continue;
-                    try {
-                        String worldName = currentWorld.getName();
-                        if (worldName == null || !worldName.equals(entry.targetWorldName)) continue;
-                    } catch (Throwable ignored) {
-                        continue;
-                    }
-                }
+    private static World resolveWorld(Store<EntityStore> store) {
+        try {
+            Object external = store.getExternalData();
+            if (external instanceof EntityStore) {
+                return ((EntityStore) external).getWorld();
+            }
+        } catch (Throwable ignored) {}
+        return null;
+    }
 
-                double dx = pos.getX() - entry.tx;
-                double dy = pos.getY() - entry.ty;
-                double dz = pos.getZ() - entry.tz;
-                double distSq = dx * dx + dy * dy + dz * dz;
-                if (distSq <= entry.radiusSq) {
-                    // in range
-                    long playerLast = entry.perPlayerLastTrigger.getOrDefault(playerRef, 0L);
-                    long cooldownRemaining = Math.max(0L, entry.cooldownMillis - (now - entry.lastSpawnAt));
-                    if (now - entry.lastSpawnAt >= entry.cooldownMillis && (playerLast == 0L || now - playerLast >= 250L)) {
-                        // schedule spawn on world thread
+    /**
+     * Bucket of world-pinned spawns for the given world, or null if none target it.
+     */
+    private SpawnGrid worldGridFor(World world) {
+        if (world == null || worldGrids.isEmpty()) return null;
+        try {
+            String worldName = world.getName();
+            return (worldName == null) ? null : worldGrids.get(worldName);
+        } catch (Throwable ignored) {
+            return null;
+        }
+    }
+
+    private void tryTrigger(SpawnEntry entry, double px, double py, double pz, World currentWorld,
+                            PlayerRef playerRef, Player player, long now) {
+        double dx = px - entry.tx;
+        double dy = py - entry.ty;
+        double dz = pz - entry.tz;
+        double distSq = dx * dx + dy * dy + dz * dz;
+        if (distSq > entry.radiusSq) return;
+
+        // in range
+        long playerLast = entry.perPlayerLastTrigger.getOrDefault(playerRef, 0L);
+        if (now - entry.lastSpawnAt >= entry.cooldownMillis && (playerLast == 0L || now - playerLast >= 250L)) {
+            // schedule spawn on world thread
+            try {
+                World world = currentWorld;
+                final PlayerRef triggerRef = playerRef;
+                final Player triggerPlayer = player;
+                if (world != null) {
+                    world.execute(() -> {
                         try {
-                            World world = currentWorld;
-                            final PlayerRef triggerRef = playerRef;
-                            final Player triggerPlayer = player;
-                            if (world != null) {
-                                world.execute(() -> {
-                                    try {
-                                        entry.spawnStrategy.spawn(world, entry.tx, entry.ty, entry.tz, triggerRef, triggerPlayer);
-                                    } catch (Throwable t) {
-                                        LOG.atWarning().withCause(t).log("[ProximitySpawn] spawn execution failed for spawn=%s", entry.id);
-                                    }
-                                });
-                            } else {
-                                try {
-                                    entry.spawnStrategy.spawn(world, entry.tx, entry.ty, entry.tz, triggerRef, triggerPlayer);
-                                } catch (Throwable t) {
-                                    LOG.atWarning().withCause(t).log("[ProximitySpawn] spawn direct execution failed for spawn=%s", entry.id);
-                                }
-                            }
+                            entry.spawnStrategy.spawn(world, entry.tx, entry.ty, entry.tz, triggerRef, triggerPlayer);
                         } catch (Throwable t) {
-                            LOG.atWarning().withCause(t).log("[ProximitySpawn] scheduling spawn error for %s", entry.id);
+                            LOG.atWarning().withCause(t).log("[ProximitySpawn] spawn execution failed for spawn=%s", entry.id);
                         }
-
-                        entry.lastSpawnAt = now;
-                        entry.perPlayerLastTrigger.put(playerRef, now);
+                    });
+                } else {
+                    try {
+                        entry.spawnStrategy.spawn(world, entry.tx, entry.ty, entry.tz, triggerRef, triggerPlayer);
+                    } catch (Throwable t) {
+                        LOG.atWarning().withCause(t).log("[ProximitySpawn] spawn direct execution failed for spawn=%s", entry.id);
                     }
                 }
+            } catch (Throwable t) {
+                LOG.atWarning().withCause(t).log("[ProximitySpawn] scheduling spawn error for %s", entry.id);
             }
-        } catch (Throwable t) {
-            LOG.atWarning().withCause(t).log("[ProximitySpawn] unexpected tick error");
+
+            entry.lastSpawnAt = now;
+            entry.perPlayerLastTrigger.put(playerRef, now);
         }
     }
 
@@ -160,6 +226,11 @@ public class ProximitySpawnSystem extends EntityTickingSystem<EntityStore> {
         }
         SpawnEntry entry = new SpawnEntry(id, def, strategy);
         spawns.put(id, entry);
+        if (entry.targetWorldName == null) {
+            anyWorldGrid.add(entry);
+        } else {
+            worldGrids.computeIfAbsent(entry.targetWorldName, k -> new SpawnGrid()).add(entry);
+        }
         LOG.atInfo().log("[ProximitySpawnManager] added spawn %s at %.1f,%.1f,%.1f radius=%.1f world=%s", id, def.x, def.y, def.z, def.radius, def.world);
         return true;
     }
@@ -169,7 +240,11 @@ public class ProximitySpawnSystem extends EntityTickingSystem<EntityStore> {
      */
     public boolean removeSpawn(String id) {
         if (id == null) return false;
-        return spawns.remove(id) != null;
+        SpawnEntry removed = spawns.remove(id);
+        if (removed == null) return false;
+        SpawnGrid grid = (removed.targetWorldName == null) ? anyWorldGrid : worldGrids.get(removed.targetWorldName);
+        if (grid != null) grid.remove(removed);
+        return true;
     }
 
     private static String makeId(SpawnDefinition def) {
@@ -204,6 +279,194 @@ public class ProximitySpawnSystem extends EntityTickingSystem<EntityStore> {
         }
     }
 
+    /**
+     * Per-chunk scratch buffer of player positions (x, y, z interleaved) and their components.
+     * Grown on demand and reused across ticks; object slots are cleared after each chunk.
+     */
+    private static final class PlayerBatch {
+        double[] positions = new double[3 * 16];
+        Player[] players = new Player[16];
+        PlayerRef[] playerRefs = new PlayerRef[16];
+        int count;
+
+        void gather(ArchetypeChunk<EntityStore> chunk) {
+            int n = chunk.size();
+            if (players.length < n) {
+                int cap = Math.max(n, players.length * 2);
+                positions = new double[3 * cap];
+                players = new Player[cap];
+                playerRefs = new PlayerRef[cap];
+            }
+
+            ComponentType<EntityStore, Player> playerType = Player.getComponentType();
+            ComponentType<EntityStore, PlayerRef> playerRefType = PlayerRef.getComponentType();
+            ComponentType<EntityStore, TransformComponent> transformType = TransformComponent.getComponentType();
+
+            int c = 0;
+            for (int i = 0; i < n; i++) {
+                Player player = chunk.getComponent(i, playerType);
+                PlayerRef playerRef = chunk.getComponent(i, playerRefType);
+                if (player == null || playerRef == null) continue;
+
+                Ref<EntityStore> ref = chunk.getReferenceTo(i);
+                if (ref == null || !ref.isValid()) continue;
+
+                TransformComponent transform = chunk.getComponent(i, transformType);
+                if (transform == null) continue;
+
+                Vector3d pos = transform.getPosition();
+                int o = c * 3;
+                positions[o] = pos.getX();
+                positions[o + 1] = pos.getY();
+                positions[o + 2] = pos.getZ();
+                players[c] = player;
+                playerRefs[c] = playerRef;
+                c++;
+            }
+            count = c;
+        }
+
+        void reset() {
+            Arrays.fill(players, 0, count, null);
+            Arrays.fill(playerRefs, 0, count, null);
+            count = 0;
+        }
+    }
+
+    /**
+     * Uniform XZ cell grid over spawn entries. Each entry is inserted into every chunk-sized cell its
+     * trigger radius overlaps, so a player only needs to test the entries of the single cell it stands in.
+     * Entries whose radius would cover more than MAX_CELLS_PER_ENTRY cells are kept in a separate list
+     * that is always tested.
+     *
+     * Cells hold immutable arrays that are replaced on add/remove. Writers mutate their own map under the
+     * lock and then publish an immutable View (map copy + oversized array) through a volatile field, so the
+     * tick path of every world reads lock-free and does not allocate.
+     */
+    private static final class SpawnGrid {
+        private static final int CELL_SHIFT = 5; // 32 blocks, one chunk column
+        private static final int MAX_CELLS_PER_ENTRY = 64;
+        private static final SpawnEntry[] EMPTY = new SpawnEntry[0];
+
+        // readers' snapshot; never mutated after publication
+        private static final class View {
+            static final View EMPTY_VIEW = new View(new Long2ObjectOpenHashMap<>(), EMPTY);
+
+            final Long2ObjectOpenHashMap<SpawnEntry[]> cells;
+            final SpawnEntry[] oversized;
+
+            View(Long2ObjectOpenHashMap<SpawnEntry[]> cells, SpawnEntry[] oversized) {
+                this.cells = cells;
+                this.oversized = oversized;
+            }
+        }
+
+        // writer state, guarded by this
+        private final Long2ObjectOpenHashMap<SpawnEntry[]> cells = new Long2ObjectOpenHashMap<>();
+        private SpawnEntry[] oversized = EMPTY;
+
+        private volatile View view = View.EMPTY_VIEW;
+
+        // called under the lock after every mutation
+        private void publish() {
+            view = (cells.isEmpty() && oversized.length == 0) ? View.EMPTY_VIEW : new View(new Long2ObjectOpenHashMap<>(cells), oversized);
+        }
+
+        synchronized void add(SpawnEntry entry) {
+            int minX = cellCoord(entry.tx - entry.radius);
+            int maxX = cellCoord(entry.tx + entry.radius);
+            int minZ = cellCoord(entry.tz - entry.radius);
+            int maxZ = cellCoord(entry.tz + entry.radius);
+            long cellCount = (long) (maxX - minX + 1) * (long) (maxZ - minZ + 1);
+            if (cellCount > MAX_CELLS_PER_ENTRY) {
+                oversized = append(oversized, entry);
+                publish();
+                return;
+            }
+            for (int cx = minX; cx <= maxX; cx++) {
+                for (int cz = minZ; cz <= maxZ; cz++) {
+                    long key = cellKey(cx, cz);
+                    SpawnEntry[] current = cells.get(key);
+                    cells.put(key, append(current == null ? EMPTY : current, entry));
+                }
+            }
+            publish();
+        }
+
+        synchronized void remove(SpawnEntry entry) {
+            int minX = cellCoord(entry.tx - entry.radius);
+            int maxX = cellCoord(entry.tx + entry.radius);
+            int minZ = cellCoord(entry.tz - entry.radius);
+            int maxZ = cellCoord(entry.tz + entry.radius);
+            long cellCount = (long) (maxX - minX + 1) * (long) (maxZ - minZ + 1);
+            if (cellCount > MAX_CELLS_PER_ENTRY) {
+                oversized = without(oversized, entry);
+                publish();
+                return;
+            }
+            for (int cx = minX; cx <= maxX; cx++) {
+                for (int cz = minZ; cz <= maxZ; cz++) {
+                    long key = cellKey(cx, cz);
+                    SpawnEntry[] current = cells.get(key);
+                    if (current == null) continue;
+                    SpawnEntry[] next = without(current, entry);
+                    if (next.length == 0) {
+                        cells.remove(key);
+                    } else {
+                        cells.put(key, next);
+                    }
+                }
+            }
+            publish();
+        }
+
+        synchronized void clear() {
+            cells.clear();
+            oversized = EMPTY;
+            publish();
+        }
+
+        SpawnEntry[] cellAt(double x, double z) {
+            SpawnEntry[] cell = view.cells.get(cellKey(cellCoord(x), cellCoord(z)));
+            return (cell == null) ? EMPTY : cell;
+        }
+
+        SpawnEntry[] oversized() {
+            return view.oversized;
+        }
+
+        boolean isEmpty() {
+            return view == View.EMPTY_VIEW;
+        }
+
+        private static int cellCoord(double v) {
+            return ((int) Math.floor(v)) >> CELL_SHIFT;
+        }
+
+        private static long cellKey(int cx, int cz) {
+            return ((long) cx << 32) | (cz & 0xFFFFFFFFL);
+        }
+
+        private static SpawnEntry[] append(SpawnEntry[] arr, SpawnEntry entry) {
+            SpawnEntry[] out = Arrays.copyOf(arr, arr.length + 1);
+            out[arr.length] = entry;
+            return out;
+        }
+
+        private static SpawnEntry[] without(SpawnEntry[] arr, SpawnEntry entry) {
+            int idx = -1;
+            for (int i = 0; i < arr.length; i++) {
+                if (arr[i] == entry) { idx = i; break; }
+            }
+            if (idx < 0) return arr;
+            if (arr.length == 1) return EMPTY;
+            SpawnEntry[] out = new SpawnEntry[arr.length - 1];
+            System.arraycopy(arr, 0, out, 0, idx);
+            System.arraycopy(arr, idx + 1, out, idx, arr.length - idx - 1);
+            return out;
+        }
+    }
+
     /**
      * Public spawn strategy interface (delegates to actual implementations)
      */